@@ -0,0 +1,120 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+public class BatchMultiplicationService implements AutoCloseable {
+    private static final long DEFAULT_SPLIT_THRESHOLD = 128L * 128 * 128;
+
+    private final ForkJoinPool pool;
+    private final ParallelMultiplicationEngine engine;
+    private final boolean ownsPool;
+    private final long splitThreshold;
+
+    public BatchMultiplicationService() {
+        this(new ForkJoinPool(), true, DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    public BatchMultiplicationService(ForkJoinPool pool) {
+        this(pool, false, DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    public BatchMultiplicationService(ForkJoinPool pool, long splitThreshold) {
+        this(pool, false, splitThreshold);
+    }
+
+    private BatchMultiplicationService(ForkJoinPool pool, boolean ownsPool, long splitThreshold) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("The split threshold must be positive.");
+        }
+        this.pool = pool;
+        this.engine = new ParallelMultiplicationEngine(pool);
+        this.ownsPool = ownsPool;
+        this.splitThreshold = splitThreshold;
+    }
+
+    public CompletableFuture<double[][]> submit(double[][] a, double[][] b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        return CompletableFuture.supplyAsync(() -> compute(a, b), pool);
+    }
+
+    public CompletableFuture<double[][]> submit(Product product) {
+        return submit(product.getA(), product.getB());
+    }
+
+    public List<CompletableFuture<double[][]>> submitAll(Collection<Product> products) {
+        List<CompletableFuture<double[][]>> futures = new ArrayList<>(products.size());
+        for (Product product : products) {
+            futures.add(submit(product));
+        }
+        return futures;
+    }
+
+    public CompletableFuture<Void> submitAll(Collection<Product> products, BiConsumer<Product, double[][]> callback) {
+        List<CompletableFuture<double[][]>> futures = new ArrayList<>(products.size());
+        for (Product product : products) {
+            futures.add(submit(product).thenApply(result -> {
+                callback.accept(product, result);
+                return result;
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public List<double[][]> multiplyAll(Collection<Product> products) {
+        List<CompletableFuture<double[][]>> futures = submitAll(products);
+        List<double[][]> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<double[][]> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private double[][] compute(double[][] a, double[][] b) {
+        int inner = b.length;
+        int cols = inner == 0 ? 0 : b[0].length;
+        if ((long) a.length * inner * cols > splitThreshold) {
+            return engine.multiply(a, b);
+        }
+        double[][] c = new double[a.length][cols];
+        BlockMatrixMultiplication.multiplyInto(c, a, b, MatrixCostModel.BLOCK_SIZE, 1.0, 0.0);
+        return c;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public long getSplitThreshold() {
+        return splitThreshold;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    public static class Product {
+        private final double[][] a;
+        private final double[][] b;
+
+        public Product(double[][] a, double[][] b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        public double[][] getA() {
+            return a;
+        }
+
+        public double[][] getB() {
+            return b;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class BlockCSRMatrix {
+    private final int rows;
+    private final int cols;
+    private final int blockRows;
+    private final int blockCols;
+    private final int nonZeroCount;
+    private final int[] blockRowPointers;
+    private final int[] blockColumnIndices;
+    private final double[] values;
+
+    public BlockCSRMatrix(CSRMatrixMultiplication.CSRMatrix matrix, int blockRows, int blockCols) {
+        if (blockRows < 1 || blockCols < 1) {
+            throw new IllegalArgumentException("Block dimensions must be positive.");
+        }
+        this.rows = matrix.getRows();
+        this.cols = matrix.getCols();
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.nonZeroCount = matrix.getNonZeroCount();
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columnIndices = matrix.getColumnIndices();
+        double[] csrValues = matrix.getValues();
+
+        int blockRowCount = (rows + blockRows - 1) / blockRows;
+        int blockColCount = (cols + blockCols - 1) / blockCols;
+        int[] marker = new int[blockColCount];
+        Arrays.fill(marker, -1);
+        this.blockRowPointers = new int[blockRowCount + 1];
+        for (int br = 0; br < blockRowCount; br++) {
+            int blocks = 0;
+            for (int i = br * blockRows; i < Math.min(rows, (br + 1) * blockRows); i++) {
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    int bc = columnIndices[p] / blockCols;
+                    if (marker[bc] != br) {
+                        marker[bc] = br;
+                        blocks++;
+                    }
+                }
+            }
+            blockRowPointers[br + 1] = blockRowPointers[br] + blocks;
+        }
+
+        int blockCount = blockRowPointers[blockRowCount];
+        long storage = (long) blockCount * blockRows * blockCols;
+        if (storage > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The BCSR storage does not fit in a single array.");
+        }
+        this.blockColumnIndices = new int[blockCount];
+        this.values = new double[(int) storage];
+        int[] slot = marker;
+        Arrays.fill(slot, -1);
+        int blockSize = blockRows * blockCols;
+        for (int br = 0; br < blockRowCount; br++) {
+            int start = blockRowPointers[br];
+            int next = start;
+            for (int i = br * blockRows; i < Math.min(rows, (br + 1) * blockRows); i++) {
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    int bc = columnIndices[p] / blockCols;
+                    if (slot[bc] < start) {
+                        slot[bc] = next;
+                        blockColumnIndices[next++] = bc;
+                    }
+                }
+            }
+            Arrays.sort(blockColumnIndices, start, next);
+            for (int b = start; b < next; b++) {
+                slot[blockColumnIndices[b]] = b;
+            }
+            for (int i = br * blockRows; i < Math.min(rows, (br + 1) * blockRows); i++) {
+                int localRow = i - br * blockRows;
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    int col = columnIndices[p];
+                    int b = slot[col / blockCols];
+                    values[b * blockSize + localRow * blockCols + col % blockCols] += csrValues[p];
+                }
+            }
+        }
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the BCSR matrix.");
+        }
+        if (blockRows == 3 && blockCols == 3 && cols % 3 == 0) {
+            multiply3x3(result, vector, alpha, beta);
+            return;
+        }
+        if (blockRows == 4 && blockCols == 4 && cols % 4 == 0) {
+            multiply4x4(result, vector, alpha, beta);
+            return;
+        }
+        int blockSize = blockRows * blockCols;
+        double[] sums = new double[blockRows];
+        for (int br = 0; br < blockRowPointers.length - 1; br++) {
+            Arrays.fill(sums, 0.0);
+            for (int b = blockRowPointers[br]; b < blockRowPointers[br + 1]; b++) {
+                int colStart = blockColumnIndices[b] * blockCols;
+                int offset = b * blockSize;
+                if (colStart + blockCols <= cols) {
+                    for (int i = 0; i < blockRows; i++) {
+                        double sum = sums[i];
+                        for (int j = 0; j < blockCols; j++) {
+                            sum += values[offset + j] * vector[colStart + j];
+                        }
+                        sums[i] = sum;
+                        offset += blockCols;
+                    }
+                } else {
+                    int width = cols - colStart;
+                    for (int i = 0; i < blockRows; i++) {
+                        for (int j = 0; j < width; j++) {
+                            sums[i] += values[offset + j] * vector[colStart + j];
+                        }
+                        offset += blockCols;
+                    }
+                }
+            }
+            int rowStart = br * blockRows;
+            for (int i = 0; i < Math.min(blockRows, rows - rowStart); i++) {
+                result[rowStart + i] = beta == 0.0 ? alpha * sums[i] : alpha * sums[i] + beta * result[rowStart + i];
+            }
+        }
+    }
+
+    private void multiply3x3(double[] result, double[] vector, double alpha, double beta) {
+        for (int br = 0; br < blockRowPointers.length - 1; br++) {
+            double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0;
+            for (int b = blockRowPointers[br]; b < blockRowPointers[br + 1]; b++) {
+                int colStart = blockColumnIndices[b] * 3;
+                int offset = b * 9;
+                double x0 = vector[colStart], x1 = vector[colStart + 1], x2 = vector[colStart + 2];
+                sum0 += values[offset] * x0 + values[offset + 1] * x1 + values[offset + 2] * x2;
+                sum1 += values[offset + 3] * x0 + values[offset + 4] * x1 + values[offset + 5] * x2;
+                sum2 += values[offset + 6] * x0 + values[offset + 7] * x1 + values[offset + 8] * x2;
+            }
+            int rowStart = br * 3;
+            store(result, rowStart, sum0, alpha, beta);
+            store(result, rowStart + 1, sum1, alpha, beta);
+            store(result, rowStart + 2, sum2, alpha, beta);
+        }
+    }
+
+    private void multiply4x4(double[] result, double[] vector, double alpha, double beta) {
+        for (int br = 0; br < blockRowPointers.length - 1; br++) {
+            double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
+            for (int b = blockRowPointers[br]; b < blockRowPointers[br + 1]; b++) {
+                int colStart = blockColumnIndices[b] * 4;
+                int offset = b * 16;
+                double x0 = vector[colStart], x1 = vector[colStart + 1], x2 = vector[colStart + 2], x3 = vector[colStart + 3];
+                sum0 += values[offset] * x0 + values[offset + 1] * x1 + values[offset + 2] * x2 + values[offset + 3] * x3;
+                sum1 += values[offset + 4] * x0 + values[offset + 5] * x1 + values[offset + 6] * x2 + values[offset + 7] * x3;
+                sum2 += values[offset + 8] * x0 + values[offset + 9] * x1 + values[offset + 10] * x2 + values[offset + 11] * x3;
+                sum3 += values[offset + 12] * x0 + values[offset + 13] * x1 + values[offset + 14] * x2 + values[offset + 15] * x3;
+            }
+            int rowStart = br * 4;
+            store(result, rowStart, sum0, alpha, beta);
+            store(result, rowStart + 1, sum1, alpha, beta);
+            store(result, rowStart + 2, sum2, alpha, beta);
+            store(result, rowStart + 3, sum3, alpha, beta);
+        }
+    }
+
+    private void store(double[] result, int row, double sum, double alpha, double beta) {
+        if (row < rows) {
+            result[row] = beta == 0.0 ? alpha * sum : alpha * sum + beta * result[row];
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the BCSR matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        int blockSize = blockRows * blockCols;
+        for (int br = 0; br < blockRowPointers.length - 1; br++) {
+            int rowStart = br * blockRows;
+            int height = Math.min(blockRows, rows - rowStart);
+            for (int b = blockRowPointers[br]; b < blockRowPointers[br + 1]; b++) {
+                int colStart = blockColumnIndices[b] * blockCols;
+                int width = Math.min(blockCols, cols - colStart);
+                for (int i = 0; i < height; i++) {
+                    double[] resultRow = result[rowStart + i];
+                    int offset = b * blockSize + i * blockCols;
+                    for (int j = 0; j < width; j++) {
+                        double value = values[offset + j];
+                        if (value == 0.0) {
+                            continue;
+                        }
+                        double scaled = alpha * value;
+                        double[] denseRow = denseMatrix[colStart + j];
+                        for (int k = 0; k < resultRow.length; k++) {
+                            resultRow[k] += scaled * denseRow[k];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public double getFillRatio() {
+        return nonZeroCount == 0 ? 1.0 : (double) values.length / nonZeroCount;
+    }
+
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    public int getBlockCols() {
+        return blockCols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNonZeroCount() {
+        return nonZeroCount;
+    }
+}
@@ -2,15 +2,18 @@ package org.example;
 
 public class BlockMatrixMultiplication {
     public static double[][] multiply(double[][] a, double[][] b, int blockSize) {
-        int n = a.length;
-        double[][] c = new double[n][n];
-        for (int i = 0; i < n; i += blockSize) {
+        DenseMatrix.checkMultiplicable(a, b);
+        int m = a.length;
+        int inner = b.length;
+        int n = inner == 0 ? 0 : b[0].length;
+        double[][] c = new double[m][n];
+        for (int i = 0; i < m; i += blockSize) {
             for (int j = 0; j < n; j += blockSize) {
-                for (int k = 0; k < n; k += blockSize) {
-                    for (int ii = i; ii < Math.min(i + blockSize, n); ii++) {
+                for (int k = 0; k < inner; k += blockSize) {
+                    for (int ii = i; ii < Math.min(i + blockSize, m); ii++) {
                         for (int jj = j; jj < Math.min(j + blockSize, n); jj++) {
                             double sum = 0.0;
-                            for (int kk = k; kk < Math.min(k + blockSize, n); kk++) {
+                            for (int kk = k; kk < Math.min(k + blockSize, inner); kk++) {
                                 sum += a[ii][kk] * b[kk][jj];
                             }
                             c[ii][jj] += sum;
@@ -21,4 +24,81 @@ public class BlockMatrixMultiplication {
         }
         return c;
     }
+
+    public static void multiplyInto(double[][] c, double[][] a, double[][] b, int blockSize) {
+        multiplyInto(c, a, b, blockSize, 1.0, 0.0);
+    }
+
+    public static void multiplyInto(double[][] c, double[][] a, double[][] b, int blockSize, double alpha, double beta) {
+        DenseMatrix.checkMultiplicable(a, b);
+        int m = a.length;
+        int inner = b.length;
+        int n = inner == 0 ? 0 : b[0].length;
+        DenseMatrix.checkOutput(c, m, n);
+        DenseMatrix.scale(c, beta);
+        for (int i = 0; i < m; i += blockSize) {
+            for (int k = 0; k < inner; k += blockSize) {
+                for (int j = 0; j < n; j += blockSize) {
+                    for (int ii = i; ii < Math.min(i + blockSize, m); ii++) {
+                        double[] cRow = c[ii];
+                        for (int kk = k; kk < Math.min(k + blockSize, inner); kk++) {
+                            double aik = alpha * a[ii][kk];
+                            double[] bRow = b[kk];
+                            for (int jj = j; jj < Math.min(j + blockSize, n); jj++) {
+                                cRow[jj] += aik * bRow[jj];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public static DenseMatrix multiply(DenseMatrix a, DenseMatrix b, int blockSize) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix c = new DenseMatrix(a.getRows(), b.getCols());
+        multiplyAccumulate(a, b, c, blockSize);
+        return c;
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, int blockSize) {
+        multiplyInto(c, a, b, blockSize, 1.0, 0.0);
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, int blockSize, double alpha, double beta) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix.checkOutput(c, a.getRows(), b.getCols());
+        c.scale(beta);
+        multiplyAccumulate(a, b, c, blockSize, alpha);
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, int blockSize) {
+        multiplyAccumulate(a, b, c, blockSize, 1.0);
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, int blockSize, double alpha) {
+        int m = a.getRows(), n = b.getCols(), inner = a.getCols();
+        double[] ad = a.getData(), bd = b.getData(), cd = c.getData();
+        int as = a.getStride(), bs = b.getStride(), cs = c.getStride();
+        for (int i = 0; i < m; i += blockSize) {
+            int iEnd = Math.min(i + blockSize, m);
+            for (int k = 0; k < inner; k += blockSize) {
+                int kEnd = Math.min(k + blockSize, inner);
+                for (int j = 0; j < n; j += blockSize) {
+                    int jEnd = Math.min(j + blockSize, n);
+                    for (int ii = i; ii < iEnd; ii++) {
+                        int aRow = a.getOffset() + ii * as;
+                        int cRow = c.getOffset() + ii * cs;
+                        for (int kk = k; kk < kEnd; kk++) {
+                            double aik = alpha * ad[aRow + kk];
+                            int bRow = b.getOffset() + kk * bs;
+                            for (int jj = j; jj < jEnd; jj++) {
+                                cd[cRow + jj] += aik * bd[bRow + jj];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package org.example;
 
+import java.util.Arrays;
+
 public class CSCMatrixMultiplication {
     private final double[] values;
     private final int[] rowIndices;
@@ -9,31 +11,105 @@ public class CSCMatrixMultiplication {
 
     public CSCMatrixMultiplication(double[][] denseMatrix) {
         this.rows = denseMatrix.length;
-        this.cols = denseMatrix[0].length;
+        this.cols = rows == 0 ? 0 : denseMatrix[0].length;
 
-        int nonZeroCount = 0;
+        colPointers = new int[cols + 1];
         for (double[] row : denseMatrix) {
-            for (double val : row) {
-                if (val != 0) nonZeroCount++;
+            for (int j = 0; j < cols; j++) {
+                if (row[j] != 0) colPointers[j + 1]++;
             }
         }
+        for (int j = 0; j < cols; j++) {
+            colPointers[j + 1] += colPointers[j];
+        }
 
-        values = new double[nonZeroCount];
-        rowIndices = new int[nonZeroCount];
-        colPointers = new int[cols + 1];
+        values = new double[colPointers[cols]];
+        rowIndices = new int[colPointers[cols]];
+        int[] next = Arrays.copyOf(colPointers, cols);
+        for (int i = 0; i < rows; i++) {
+            double[] row = denseMatrix[i];
+            for (int j = 0; j < cols; j++) {
+                if (row[j] != 0) {
+                    int index = next[j]++;
+                    values[index] = row[j];
+                    rowIndices[index] = i;
+                }
+            }
+        }
+    }
 
-        int index = 0;
-        for (int j = 0; j < cols; j++) {
-            colPointers[j] = index;
+    CSCMatrixMultiplication(int rows, int cols, double[] values, int[] rowIndices, int[] colPointers) {
+        this.rows = rows;
+        this.cols = cols;
+        this.values = values;
+        this.rowIndices = rowIndices;
+        this.colPointers = colPointers;
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSC matrix.");
+        }
+        if (beta != 1.0) {
             for (int i = 0; i < rows; i++) {
-                if (denseMatrix[i][j] != 0) {
-                    values[index] = denseMatrix[i][j];
-                    rowIndices[index] = i;
-                    index++;
+                result[i] = beta == 0.0 ? 0.0 : beta * result[i];
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            double scaled = alpha * vector[j];
+            if (scaled == 0.0) {
+                continue;
+            }
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                result[rowIndices[k]] += values[k] * scaled;
+            }
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows in the dense matrix does not match the columns of the CSC matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        for (int j = 0; j < cols; j++) {
+            double[] denseRow = denseMatrix[j];
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                double[] resultRow = result[rowIndices[k]];
+                double value = alpha * values[k];
+                for (int i = 0; i < denseRow.length; i++) {
+                    resultRow[i] += value * denseRow[i];
                 }
             }
         }
-        colPointers[cols] = index;
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix toCSR() {
+        int nonZeroCount = colPointers[cols];
+        int[] columnIndices = new int[nonZeroCount];
+        double[] csrValues = new double[nonZeroCount];
+        int[] rowPointers = CSRMatrixMultiplication.transposeCompressed(cols, rows, colPointers, rowIndices, values, columnIndices, csrValues);
+        return new CSRMatrixMultiplication.CSRMatrix(rows, cols, csrValues, columnIndices, rowPointers);
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix transpose() {
+        return new CSRMatrixMultiplication.CSRMatrix(cols, rows, values, rowIndices, colPointers);
+    }
+
+    public int getNonZeroCount() {
+        return colPointers[cols];
     }
 
     public double[] getValues() {
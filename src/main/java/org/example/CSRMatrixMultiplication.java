@@ -1,15 +1,40 @@
 package org.example;
 
+import java.util.Arrays;
+
 public class CSRMatrixMultiplication {
+    static int[] transposeCompressed(int major, int minor, int[] pointers, int[] indices, double[] values,
+                           int[] transposedIndices, double[] transposedValues) {
+        int[] transposedPointers = new int[minor + 1];
+        for (int p = pointers[0]; p < pointers[major]; p++) {
+            transposedPointers[indices[p] + 1]++;
+        }
+        for (int j = 0; j < minor; j++) {
+            transposedPointers[j + 1] += transposedPointers[j];
+        }
+        int[] next = Arrays.copyOf(transposedPointers, minor);
+        for (int i = 0; i < major; i++) {
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                int index = next[indices[p]]++;
+                transposedIndices[index] = i;
+                transposedValues[index] = values[p];
+            }
+        }
+        return transposedPointers;
+    }
+
     public static class CSRMatrix {
 
         private final double[] values;
         private final int[] columnIndices;
         private final int[] rowPointers;
         private final int rows;
+        private final int cols;
+        private MatrixFingerprint fingerprint;
 
         public CSRMatrix(double[][] denseMatrix) {
             this.rows = denseMatrix.length;
+            this.cols = rows == 0 ? 0 : denseMatrix[0].length;
             int nonZeroCount = 0;
             for (double[] row : denseMatrix) {
                 for (double val : row) {
@@ -34,6 +59,14 @@ public class CSRMatrixMultiplication {
             rowPointers[rows] = index;
         }
 
+        CSRMatrix(int rows, int cols, double[] values, int[] columnIndices, int[] rowPointers) {
+            this.rows = rows;
+            this.cols = cols;
+            this.values = values;
+            this.columnIndices = columnIndices;
+            this.rowPointers = rowPointers;
+        }
+
         public double[] multiply(double[] vector) {
             double[] result = new double[rows];
             for (int i = 0; i < rows; i++) {
@@ -44,6 +77,130 @@ public class CSRMatrixMultiplication {
             return result;
         }
 
+        public void multiplyInto(double[] result, double[] vector) {
+            multiplyInto(result, vector, 1.0, 0.0);
+        }
+
+        public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+            if (vector.length != cols || result.length != rows) {
+                throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSR matrix.");
+            }
+            for (int i = 0; i < rows; i++) {
+                double sum = 0.0;
+                for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                    sum += values[j] * vector[columnIndices[j]];
+                }
+                result[i] = beta == 0.0 ? alpha * sum : alpha * sum + beta * result[i];
+            }
+        }
+
+        public CSRMatrix multiply(CSRMatrix other) {
+            return multiply(other, new MatrixWorkspace());
+        }
+
+        public CSRMatrix multiply(CSRMatrix other, MatrixWorkspace workspace) {
+            if (cols != other.rows) {
+                throw new IllegalArgumentException("The number of columns of the left CSR matrix does not match the rows of the right CSR matrix.");
+            }
+            int resultCols = other.cols;
+            int[] otherRowPointers = other.rowPointers;
+            int[] otherColumnIndices = other.columnIndices;
+            double[] otherValues = other.values;
+
+            int[] marker = workspace.marker(resultCols);
+            Arrays.fill(marker, 0, resultCols, -1);
+            int[] resultRowPointers = new int[rows + 1];
+            for (int i = 0; i < rows; i++) {
+                int rowNonZeros = 0;
+                for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                    int k = columnIndices[j];
+                    for (int p = otherRowPointers[k]; p < otherRowPointers[k + 1]; p++) {
+                        int col = otherColumnIndices[p];
+                        if (marker[col] != i) {
+                            marker[col] = i;
+                            rowNonZeros++;
+                        }
+                    }
+                }
+                resultRowPointers[i + 1] = resultRowPointers[i] + rowNonZeros;
+            }
+
+            int nonZeroCount = resultRowPointers[rows];
+            int[] resultColumnIndices = new int[nonZeroCount];
+            double[] resultValues = new double[nonZeroCount];
+            double[] accumulator = workspace.accumulator(resultCols);
+            Arrays.fill(marker, 0, resultCols, -1);
+            for (int i = 0; i < rows; i++) {
+                int start = resultRowPointers[i];
+                int index = start;
+                for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                    int k = columnIndices[j];
+                    double value = values[j];
+                    for (int p = otherRowPointers[k]; p < otherRowPointers[k + 1]; p++) {
+                        int col = otherColumnIndices[p];
+                        if (marker[col] != i) {
+                            marker[col] = i;
+                            accumulator[col] = value * otherValues[p];
+                            resultColumnIndices[index++] = col;
+                        } else {
+                            accumulator[col] += value * otherValues[p];
+                        }
+                    }
+                }
+                Arrays.sort(resultColumnIndices, start, index);
+                for (int p = start; p < index; p++) {
+                    resultValues[p] = accumulator[resultColumnIndices[p]];
+                }
+            }
+            return new CSRMatrix(rows, resultCols, resultValues, resultColumnIndices, resultRowPointers);
+        }
+
+        public double[][] multiply(double[][] denseMatrix) {
+            double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+            multiplyInto(result, denseMatrix, 1.0, 0.0);
+            return result;
+        }
+
+        public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+            if (denseMatrix.length != cols) {
+                throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+            }
+            DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+            DenseMatrix.scale(result, beta);
+            for (int i = 0; i < rows; i++) {
+                double[] resultRow = result[i];
+                for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                    double value = alpha * values[j];
+                    double[] denseRow = denseMatrix[columnIndices[j]];
+                    for (int k = 0; k < resultRow.length; k++) {
+                        resultRow[k] += value * denseRow[k];
+                    }
+                }
+            }
+        }
+
+        public CSCMatrixMultiplication toCSC() {
+            int nonZeroCount = rowPointers[rows];
+            int[] rowIndices = new int[nonZeroCount];
+            double[] cscValues = new double[nonZeroCount];
+            int[] colPointers = transposeCompressed(rows, cols, rowPointers, columnIndices, values, rowIndices, cscValues);
+            return new CSCMatrixMultiplication(rows, cols, cscValues, rowIndices, colPointers);
+        }
+
+        public CSCMatrixMultiplication transpose() {
+            return new CSCMatrixMultiplication(cols, rows, values, columnIndices, rowPointers);
+        }
+
+        public double[][] toDense() {
+            double[][] dense = new double[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                    dense[i][columnIndices[j]] = values[j];
+                }
+            }
+            return dense;
+        }
+
         public double[] getValues() {
             return values;
         }
@@ -59,5 +216,22 @@ public class CSRMatrixMultiplication {
         public int getRows() {
             return rows;
         }
+
+        public int getCols() {
+            return cols;
+        }
+
+        public int getNonZeroCount() {
+            return rowPointers[rows];
+        }
+
+        public MatrixFingerprint getFingerprint() {
+            MatrixFingerprint result = fingerprint;
+            if (result == null) {
+                result = MatrixFingerprint.compute(this);
+                fingerprint = result;
+            }
+            return result;
+        }
     }
 }
@@ -0,0 +1,172 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+final class ChunkedBuffer {
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = (int) CHUNK_BYTES - 1;
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final ByteBuffer[] chunks;
+    private final long byteSize;
+
+    private ChunkedBuffer(ByteBuffer[] chunks, long byteSize) {
+        this.chunks = chunks;
+        this.byteSize = byteSize;
+    }
+
+    static ChunkedBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long byteSize) throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(byteSize)];
+        for (int i = 0; i < chunks.length; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(mode, position + start, Math.min(CHUNK_BYTES, byteSize - start)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new ChunkedBuffer(chunks, byteSize);
+    }
+
+    static ChunkedBuffer allocateDirect(long byteSize) {
+        if (INVOKE_CLEANER == null) {
+            throw new UnsupportedOperationException("Direct buffers cannot be released explicitly on this JVM.");
+        }
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(byteSize)];
+        ChunkedBuffer buffer = new ChunkedBuffer(chunks, byteSize);
+        for (int i = 0; i < chunks.length; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            try {
+                chunks[i] = ByteBuffer.allocateDirect((int) Math.min(CHUNK_BYTES, byteSize - start)).order(ByteOrder.LITTLE_ENDIAN);
+            } catch (OutOfMemoryError e) {
+                buffer.release();
+                OutOfMemoryError error = new OutOfMemoryError("Cannot allocate " + byteSize + " bytes of direct memory. "
+                        + "Direct memory is limited by -XX:MaxDirectMemorySize, which defaults to the maximum heap size.");
+                error.initCause(e);
+                throw error;
+            }
+        }
+        return buffer;
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int chunkCount(long byteSize) {
+        if (byteSize < 0) {
+            throw new IllegalArgumentException("Buffer size must not be negative.");
+        }
+        return (int) ((byteSize + CHUNK_BYTES - 1) >>> CHUNK_SHIFT);
+    }
+
+    ByteBuffer chunk(long index, int elementBytes) {
+        return chunks[(int) ((index * elementBytes) >>> CHUNK_SHIFT)];
+    }
+
+    static int chunkOffset(long index, int elementBytes) {
+        return (int) (index * elementBytes) & CHUNK_MASK;
+    }
+
+    static long chunkEnd(long index, int elementBytes) {
+        long chunkElements = CHUNK_BYTES / elementBytes;
+        return (index / chunkElements + 1) * chunkElements;
+    }
+
+    long byteSize() {
+        return byteSize;
+    }
+
+    double getDouble(long index) {
+        long position = index << 3;
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getDouble((int) position & CHUNK_MASK);
+    }
+
+    long getLong(long index) {
+        long position = index << 3;
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) position & CHUNK_MASK);
+    }
+
+    int getInt(long index) {
+        long position = index << 2;
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getInt((int) position & CHUNK_MASK);
+    }
+
+    void putDouble(long index, double value) {
+        long position = index << 3;
+        chunks[(int) (position >>> CHUNK_SHIFT)].putDouble((int) position & CHUNK_MASK, value);
+    }
+
+    void putDoubles(long index, double[] source) {
+        int offset = 0;
+        while (offset < source.length) {
+            long position = (index + offset) << 3;
+            ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+            int start = (int) position & CHUNK_MASK;
+            int count = Math.min(source.length - offset, (chunk.capacity() - start) >>> 3);
+            chunk.slice(start, count << 3).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(source, offset, count);
+            offset += count;
+        }
+    }
+
+    void getDoubles(long index, double[] target) {
+        int offset = 0;
+        while (offset < target.length) {
+            long position = (index + offset) << 3;
+            ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+            int start = (int) position & CHUNK_MASK;
+            int count = Math.min(target.length - offset, (chunk.capacity() - start) >>> 3);
+            chunk.slice(start, count << 3).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(target, offset, count);
+            offset += count;
+        }
+    }
+
+    void putLong(long index, long value) {
+        long position = index << 3;
+        chunks[(int) (position >>> CHUNK_SHIFT)].putLong((int) position & CHUNK_MASK, value);
+    }
+
+    void putInt(long index, int value) {
+        long position = index << 2;
+        chunks[(int) (position >>> CHUNK_SHIFT)].putInt((int) position & CHUNK_MASK, value);
+    }
+
+    void release() {
+        if (INVOKE_CLEANER == null) {
+            throw new UnsupportedOperationException("Direct buffers cannot be released explicitly on this JVM.");
+        }
+        for (int i = 0; i < chunks.length; i++) {
+            ByteBuffer chunk = chunks[i];
+            chunks[i] = null;
+            if (chunk != null && chunk.isDirect()) {
+                try {
+                    INVOKE_CLEANER.invokeExact(chunk);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Could not release off-heap memory.", e);
+                }
+            }
+        }
+    }
+
+    void force() {
+        for (ByteBuffer chunk : chunks) {
+            if (chunk instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+        }
+    }
+}
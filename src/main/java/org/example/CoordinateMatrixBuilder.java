@@ -0,0 +1,169 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class CoordinateMatrixBuilder {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int rows;
+    private final int cols;
+    private int[] rowIndices;
+    private int[] colIndices;
+    private double[] values;
+    private int size;
+
+    public CoordinateMatrixBuilder(int rows, int cols) {
+        this(rows, cols, DEFAULT_CAPACITY);
+    }
+
+    public CoordinateMatrixBuilder(int rows, int cols, int expectedNonZeros) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions must not be negative.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int capacity = Math.max(expectedNonZeros, 1);
+        this.rowIndices = new int[capacity];
+        this.colIndices = new int[capacity];
+        this.values = new double[capacity];
+    }
+
+    public CoordinateMatrixBuilder add(int row, int col, double value) {
+        checkBounds(row, col, rows, cols);
+        if (value == 0) {
+            return this;
+        }
+        if (size == values.length) {
+            int capacity = values.length + (values.length >> 1) + 1;
+            rowIndices = Arrays.copyOf(rowIndices, capacity);
+            colIndices = Arrays.copyOf(colIndices, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        rowIndices[size] = row;
+        colIndices[size] = col;
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix toCSR() {
+        return toCSR(rows, cols, rowIndices, colIndices, values, size);
+    }
+
+    public CSCMatrixMultiplication toCSC() {
+        return toCSC(rows, cols, rowIndices, colIndices, values, size);
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix toCSR(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values) {
+        checkTriplets(rows, cols, rowIndices, colIndices, values);
+        return toCSR(rows, cols, rowIndices, colIndices, values, values.length);
+    }
+
+    public static CSCMatrixMultiplication toCSC(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values) {
+        checkTriplets(rows, cols, rowIndices, colIndices, values);
+        return toCSC(rows, cols, rowIndices, colIndices, values, values.length);
+    }
+
+    static CSRMatrixMultiplication.CSRMatrix toCSR(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values, int count) {
+        Compressed compressed = compress(rows, cols, rowIndices, colIndices, values, count);
+        return new CSRMatrixMultiplication.CSRMatrix(rows, cols, compressed.values, compressed.indices, compressed.pointers);
+    }
+
+    static CSCMatrixMultiplication toCSC(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values, int count) {
+        Compressed compressed = compress(cols, rows, colIndices, rowIndices, values, count);
+        return new CSCMatrixMultiplication(rows, cols, compressed.values, compressed.indices, compressed.pointers);
+    }
+
+    private static Compressed compress(int majorCount, int minorCount, int[] major, int[] minor, double[] values, int count) {
+        int[] minorPointers = new int[minorCount + 1];
+        for (int p = 0; p < count; p++) {
+            minorPointers[minor[p] + 1]++;
+        }
+        for (int j = 0; j < minorCount; j++) {
+            minorPointers[j + 1] += minorPointers[j];
+        }
+        int[] byMinorMajor = new int[count];
+        int[] byMinorMinor = new int[count];
+        double[] byMinorValues = new double[count];
+        for (int p = 0; p < count; p++) {
+            int dest = minorPointers[minor[p]]++;
+            byMinorMajor[dest] = major[p];
+            byMinorMinor[dest] = minor[p];
+            byMinorValues[dest] = values[p];
+        }
+
+        int[] pointers = new int[majorCount + 1];
+        for (int p = 0; p < count; p++) {
+            pointers[byMinorMajor[p] + 1]++;
+        }
+        for (int i = 0; i < majorCount; i++) {
+            pointers[i + 1] += pointers[i];
+        }
+        int[] next = Arrays.copyOf(pointers, majorCount);
+        int[] indices = new int[count];
+        double[] sortedValues = new double[count];
+        for (int p = 0; p < count; p++) {
+            int dest = next[byMinorMajor[p]]++;
+            indices[dest] = byMinorMinor[p];
+            sortedValues[dest] = byMinorValues[p];
+        }
+
+        int index = 0;
+        int start = 0;
+        for (int i = 0; i < majorCount; i++) {
+            int end = pointers[i + 1];
+            pointers[i] = index;
+            int p = start;
+            while (p < end) {
+                int current = indices[p];
+                double sum = sortedValues[p++];
+                while (p < end && indices[p] == current) {
+                    sum += sortedValues[p++];
+                }
+                if (sum != 0) {
+                    indices[index] = current;
+                    sortedValues[index] = sum;
+                    index++;
+                }
+            }
+            start = end;
+        }
+        pointers[majorCount] = index;
+        if (index < count) {
+            indices = Arrays.copyOf(indices, index);
+            sortedValues = Arrays.copyOf(sortedValues, index);
+        }
+        return new Compressed(pointers, indices, sortedValues);
+    }
+
+    private static void checkTriplets(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values) {
+        if (rowIndices.length != values.length || colIndices.length != values.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length.");
+        }
+        for (int p = 0; p < values.length; p++) {
+            checkBounds(rowIndices[p], colIndices[p], rows, cols);
+        }
+    }
+
+    private static void checkBounds(int row, int col, int rows, int cols) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Entry (" + row + ", " + col + ") is outside a " + rows + "x" + cols + " matrix.");
+        }
+    }
+
+    private static class Compressed {
+        private final int[] pointers;
+        private final int[] indices;
+        private final double[] values;
+
+        Compressed(int[] pointers, int[] indices, double[] values) {
+            this.pointers = pointers;
+            this.indices = indices;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class DenseMatrix {
+    private static final int CACHE_LINE_DOUBLES = 8;
+
+    private final double[] data;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    public DenseMatrix(int rows, int cols) {
+        this(rows, cols, cols);
+    }
+
+    public DenseMatrix(int rows, int cols, int stride) {
+        this(new double[checkedSize(rows, cols, stride)], 0, rows, cols, stride);
+    }
+
+    public DenseMatrix(double[] data, int offset, int rows, int cols, int stride) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions must not be negative.");
+        }
+        if (stride < cols) {
+            throw new IllegalArgumentException("The stride must be at least the number of columns.");
+        }
+        if (rows > 0 && cols > 0 && (offset < 0 || offset + (long) (rows - 1) * stride + cols > data.length)) {
+            throw new IllegalArgumentException("The backing array is too small for a " + rows + "x" + cols + " matrix.");
+        }
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+    }
+
+    public DenseMatrix(double[][] matrix) {
+        this(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        for (int i = 0; i < rows; i++) {
+            if (matrix[i].length != cols) {
+                throw new IllegalArgumentException("All rows of the matrix must have the same length.");
+            }
+            System.arraycopy(matrix[i], 0, data, i * stride, cols);
+        }
+    }
+
+    public static DenseMatrix aligned(int rows, int cols) {
+        int stride = (cols + CACHE_LINE_DOUBLES - 1) / CACHE_LINE_DOUBLES * CACHE_LINE_DOUBLES;
+        return new DenseMatrix(rows, cols, stride);
+    }
+
+    static void scale(double[][] matrix, double factor) {
+        if (factor == 1.0) {
+            return;
+        }
+        for (double[] row : matrix) {
+            if (factor == 0.0) {
+                Arrays.fill(row, 0.0);
+            } else {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] *= factor;
+                }
+            }
+        }
+    }
+
+    static void checkOutput(DenseMatrix c, int rows, int cols) {
+        if (c.rows != rows || c.cols != cols) {
+            throw new IllegalArgumentException("The output matrix must be " + rows + "x" + cols + ".");
+        }
+    }
+
+    static void checkOutput(double[][] c, int rows, int cols) {
+        if (c.length != rows) {
+            throw new IllegalArgumentException("The output matrix must be " + rows + "x" + cols + ".");
+        }
+        for (double[] row : c) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("The output matrix must be " + rows + "x" + cols + ".");
+            }
+        }
+    }
+
+    static void checkMultiplicable(DenseMatrix a, DenseMatrix b) {
+        if (a.cols != b.rows) {
+            throw new IllegalArgumentException("The number of columns of the left matrix does not match the rows of the right matrix.");
+        }
+    }
+
+    static void checkMultiplicable(double[][] a, double[][] b) {
+        int inner = b.length;
+        for (double[] row : a) {
+            if (row.length != inner) {
+                throw new IllegalArgumentException("The number of columns of the left matrix does not match the rows of the right matrix.");
+            }
+        }
+        int cols = inner == 0 ? 0 : b[0].length;
+        for (double[] row : b) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("All rows of the right matrix must have the same length.");
+            }
+        }
+    }
+
+    private static int checkedSize(int rows, int cols, int stride) {
+        long size = (long) rows * stride;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A " + rows + "x" + cols + " matrix does not fit in a single array.");
+        }
+        return (int) size;
+    }
+
+    public double get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, double value) {
+        data[index(row, col)] = value;
+    }
+
+    public int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Entry (" + row + ", " + col + ") is outside a " + rows + "x" + cols + " matrix.");
+        }
+        return offset + row * stride + col;
+    }
+
+    public DenseMatrix row(int row) {
+        return subMatrix(row, 0, 1, cols);
+    }
+
+    public DenseMatrix column(int col) {
+        return subMatrix(0, col, rows, 1);
+    }
+
+    public DenseMatrix subMatrix(int row, int col, int height, int width) {
+        if (row < 0 || col < 0 || height < 0 || width < 0 || row + height > rows || col + width > cols) {
+            throw new IndexOutOfBoundsException("The requested view is outside a " + rows + "x" + cols + " matrix.");
+        }
+        return new DenseMatrix(data, offset + row * stride + col, height, width, stride);
+    }
+
+    public void scale(double factor) {
+        if (factor == 1.0) {
+            return;
+        }
+        for (int i = 0; i < rows; i++) {
+            int row = offset + i * stride;
+            if (factor == 0.0) {
+                Arrays.fill(data, row, row + cols, 0.0);
+            } else {
+                for (int j = row; j < row + cols; j++) {
+                    data[j] *= factor;
+                }
+            }
+        }
+    }
+
+    public double[][] toArray() {
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(data, offset + i * stride, matrix[i], 0, cols);
+        }
+        return matrix;
+    }
+
+    public double[] getData() {
+        return data;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+}
@@ -0,0 +1,436 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DistributedMatrixMultiplication implements AutoCloseable {
+    private static final int DEFAULT_BLOCK_SIZE = 256;
+    private static final int PIPELINE_DEPTH = 2;
+    private static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 60_000;
+    private static final long CACHE_BYTES_PER_OPERAND = 256L << 20;
+
+    private final List<WorkerConnection> workers = new ArrayList<>();
+    private final int blockSize;
+    private final long blockTimeoutMillis;
+    private final int cachedBlocks;
+    private final ExecutorService dispatchers;
+    private final ScheduledExecutorService watchdog;
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    public DistributedMatrixMultiplication(List<InetSocketAddress> addresses) {
+        this(addresses, DEFAULT_BLOCK_SIZE);
+    }
+
+    public DistributedMatrixMultiplication(List<InetSocketAddress> addresses, int blockSize) {
+        this(addresses, blockSize, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+    }
+
+    public DistributedMatrixMultiplication(List<InetSocketAddress> addresses, int blockSize, long blockTimeoutMillis) {
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker address is required.");
+        }
+        if (blockSize < 1 || blockSize > DistributedProtocol.MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("The block size must be between 1 and " + DistributedProtocol.MAX_BLOCK_SIZE + ".");
+        }
+        if (blockTimeoutMillis < 1) {
+            throw new IllegalArgumentException("The block timeout must be positive.");
+        }
+        this.blockSize = blockSize;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.cachedBlocks = (int) Math.max(1, Math.min(DistributedProtocol.MAX_CACHED_BLOCKS,
+                CACHE_BYTES_PER_OPERAND / ((long) blockSize * blockSize * Double.BYTES)));
+        for (InetSocketAddress address : addresses) {
+            workers.add(new WorkerConnection(address));
+        }
+        this.dispatchers = Executors.newFixedThreadPool(addresses.size(), runnable -> {
+            Thread thread = new Thread(runnable, "matrix-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matrix-coordinator-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized double[][] multiply(double[][] a, double[][] b) throws IOException {
+        DenseMatrix.checkMultiplicable(a, b);
+        int rows = a.length;
+        int inner = b.length;
+        int cols = inner == 0 ? 0 : b[0].length;
+        double[][] c = new double[rows][cols];
+        int rowBlocks = (rows + blockSize - 1) / blockSize;
+        int colBlocks = (cols + blockSize - 1) / blockSize;
+        int innerBlocks = (inner + blockSize - 1) / blockSize;
+
+        if ((long) rowBlocks * colBlocks * innerBlocks == 0) {
+            return c;
+        }
+
+        List<WorkerConnection> connected = new ArrayList<>();
+        for (WorkerConnection worker : workers) {
+            if (worker.connect()) {
+                connected.add(worker);
+            }
+        }
+        int owners = Math.max(1, connected.size());
+        int gridRows = (int) Math.sqrt(owners);
+        while (owners % gridRows != 0) {
+            gridRows--;
+        }
+        int gridCols = owners / gridRows;
+        List<LinkedBlockingDeque<BlockTask>> queues = new ArrayList<>();
+        for (int w = 0; w < owners; w++) {
+            queues.add(new LinkedBlockingDeque<>());
+        }
+        int id = 0;
+        for (int kb = 0; kb < innerBlocks; kb++) {
+            for (int ib = 0; ib < rowBlocks; ib++) {
+                for (int jb = 0; jb < colBlocks; jb++) {
+                    int owner = (ib % gridRows) * gridCols + jb % gridCols;
+                    queues.get(owner).add(new BlockTask(id++, ib * blockSize, jb * blockSize, kb * blockSize));
+                }
+            }
+        }
+        Object[] tileLocks = new Object[rowBlocks * colBlocks];
+        for (int t = 0; t < tileLocks.length; t++) {
+            tileLocks[t] = new Object();
+        }
+        Job job = new Job(a, b, c, rows, inner, cols, queues, id, tileLocks);
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int w = 0; w < connected.size(); w++) {
+            WorkerConnection worker = connected.get(w);
+            LinkedBlockingDeque<BlockTask> own = queues.get(w);
+            running.add(dispatchers.submit(() -> worker.run(job, own)));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the workers.", e);
+            } catch (ExecutionException e) {
+                throw new IOException("A worker dispatcher failed.", e.getCause());
+            }
+        }
+        if (job.pending.get() > 0) {
+            throw new IOException("All workers failed with " + job.pending.get() + " blocks left unfinished.");
+        }
+        return c;
+    }
+
+    public int getLiveWorkerCount() {
+        int live = 0;
+        for (WorkerConnection worker : workers) {
+            if (worker.channel != null) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getBlockTimeoutMillis() {
+        return blockTimeoutMillis;
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    @Override
+    public void close() {
+        dispatchers.shutdown();
+        watchdog.shutdownNow();
+        for (WorkerConnection worker : workers) {
+            worker.disconnect();
+        }
+    }
+
+    private class WorkerConnection {
+        private final InetSocketAddress address;
+        private volatile SocketChannel channel;
+        private ByteBuffer buffer;
+        private final ByteBuffer header = DistributedProtocol.allocate(DistributedProtocol.HEADER_BYTES);
+        private final BlockCache aBlocks = new BlockCache(cachedBlocks);
+        private final BlockCache bBlocks = new BlockCache(cachedBlocks);
+
+        WorkerConnection(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        boolean connect() {
+            if (channel != null) {
+                return true;
+            }
+            try {
+                SocketChannel opened = SocketChannel.open(address);
+                opened.socket().setTcpNoDelay(true);
+                aBlocks.clear();
+                bBlocks.clear();
+                channel = opened;
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        void disconnect() {
+            SocketChannel current = channel;
+            channel = null;
+            closeQuietly(current);
+        }
+
+        void run(Job job, LinkedBlockingDeque<BlockTask> own) {
+            ArrayDeque<BlockTask> inFlight = new ArrayDeque<>();
+            aBlocks.clear();
+            bBlocks.clear();
+            try {
+                while (true) {
+                    BlockTask task = next(job, own, inFlight.isEmpty());
+                    if (task != null) {
+                        inFlight.addLast(task);
+                        send(job, task);
+                        if (inFlight.size() < PIPELINE_DEPTH) {
+                            continue;
+                        }
+                    }
+                    if (inFlight.isEmpty()) {
+                        if (job.pending.get() == 0) {
+                            return;
+                        }
+                        continue;
+                    }
+                    receive(job, inFlight.peekFirst());
+                    inFlight.removeFirst();
+                }
+            } catch (IOException | RuntimeException e) {
+                disconnect();
+                while (!inFlight.isEmpty()) {
+                    own.addFirst(inFlight.removeLast());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                disconnect();
+                while (!inFlight.isEmpty()) {
+                    own.addFirst(inFlight.removeLast());
+                }
+            }
+        }
+
+        private BlockTask next(Job job, LinkedBlockingDeque<BlockTask> own, boolean idle) throws InterruptedException {
+            BlockTask task = own.pollFirst();
+            if (task != null) {
+                return task;
+            }
+            for (LinkedBlockingDeque<BlockTask> other : job.queues) {
+                task = other.pollLast();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return idle ? own.pollFirst(10, TimeUnit.MILLISECONDS) : null;
+        }
+
+        private void send(Job job, BlockTask task) throws IOException {
+            int height = Math.min(blockSize, job.rows - task.row);
+            int depth = Math.min(blockSize, job.inner - task.inner);
+            int width = Math.min(blockSize, job.cols - task.col);
+            long aKey = ((long) task.row << 32) | task.inner;
+            long bKey = ((long) task.inner << 32) | task.col;
+            int aSlot = aBlocks.lookup(aKey);
+            int bSlot = bBlocks.lookup(bKey);
+            boolean includesA = aSlot < 0;
+            boolean includesB = bSlot < 0;
+            if (includesA) {
+                aSlot = aBlocks.assign(aKey);
+            }
+            if (includesB) {
+                bSlot = bBlocks.assign(bKey);
+            }
+            int flags = (includesA ? DistributedProtocol.INCLUDES_A : 0) | (includesB ? DistributedProtocol.INCLUDES_B : 0);
+            buffer = DistributedProtocol.ensureCapacity(buffer, DistributedProtocol.messageBytes(
+                    (includesA ? (long) height * depth : 0) + (includesB ? (long) depth * width : 0)));
+            DistributedProtocol.writeHeader(buffer, DistributedProtocol.MULTIPLY, task.id, height, depth, width, flags, aSlot, bSlot);
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            if (includesA) {
+                for (int i = 0; i < height; i++) {
+                    doubles.put(job.a[task.row + i], task.inner, depth);
+                }
+            }
+            if (includesB) {
+                for (int k = 0; k < depth; k++) {
+                    doubles.put(job.b[task.inner + k], task.col, width);
+                }
+            }
+            buffer.position(buffer.limit()).flip();
+            bytesSent.addAndGet(buffer.remaining());
+            SocketChannel current = current();
+            ScheduledFuture<?> deadline = deadline(current);
+            try {
+                DistributedProtocol.writeFully(current, buffer);
+            } finally {
+                deadline.cancel(false);
+            }
+        }
+
+        private void receive(Job job, BlockTask task) throws IOException {
+            SocketChannel current = current();
+            ScheduledFuture<?> deadline = deadline(current);
+            try {
+                receive(job, task, current);
+            } finally {
+                deadline.cancel(false);
+            }
+        }
+
+        private SocketChannel current() throws IOException {
+            SocketChannel current = channel;
+            if (current == null) {
+                throw new IOException("Worker " + address + " is disconnected.");
+            }
+            return current;
+        }
+
+        private ScheduledFuture<?> deadline(SocketChannel current) {
+            return watchdog.schedule(() -> closeQuietly(current), blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void receive(Job job, BlockTask task, SocketChannel current) throws IOException {
+            header.clear();
+            DistributedProtocol.readFully(current, header);
+            DistributedProtocol.checkMagic(header);
+            int type = header.getInt();
+            long taskId = header.getLong();
+            int height = header.getInt();
+            header.getInt();
+            int width = header.getInt();
+            if (type == DistributedProtocol.ERROR) {
+                throw new IOException("Worker " + address + " failed: " + DistributedProtocol.readError(current, buffer, height));
+            }
+            if (type != DistributedProtocol.RESULT || taskId != task.id
+                    || height != Math.min(blockSize, job.rows - task.row) || width != Math.min(blockSize, job.cols - task.col)) {
+                throw new IOException("Worker " + address + " returned an unexpected response for block " + task.id + ".");
+            }
+            buffer = DistributedProtocol.ensureCapacity(buffer, (long) height * width * Double.BYTES);
+            DistributedProtocol.readFully(current, buffer);
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            synchronized (job.tileLocks[(task.row / blockSize) * ((job.cols + blockSize - 1) / blockSize) + task.col / blockSize]) {
+                for (int i = 0; i < height; i++) {
+                    double[] cRow = job.c[task.row + i];
+                    for (int j = 0; j < width; j++) {
+                        cRow[task.col + j] += doubles.get();
+                    }
+                }
+            }
+            job.pending.decrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static class BlockCache {
+        private final LinkedHashMap<Long, Integer> slots = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+
+        BlockCache(int capacity) {
+            this.capacity = capacity;
+        }
+
+        int lookup(long key) {
+            Integer slot = slots.get(key);
+            return slot == null ? -1 : slot;
+        }
+
+        int assign(long key) {
+            int slot;
+            if (slots.size() < capacity) {
+                slot = slots.size();
+            } else {
+                Iterator<Map.Entry<Long, Integer>> eldest = slots.entrySet().iterator();
+                slot = eldest.next().getValue();
+                eldest.remove();
+            }
+            slots.put(key, slot);
+            return slot;
+        }
+
+        void clear() {
+            slots.clear();
+        }
+    }
+
+    private static class Job {
+        private final double[][] a;
+        private final double[][] b;
+        private final double[][] c;
+        private final int rows;
+        private final int inner;
+        private final int cols;
+        private final List<LinkedBlockingDeque<BlockTask>> queues;
+        private final Object[] tileLocks;
+        private final AtomicInteger pending;
+
+        Job(double[][] a, double[][] b, double[][] c, int rows, int inner, int cols,
+            List<LinkedBlockingDeque<BlockTask>> queues, int tasks, Object[] tileLocks) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.rows = rows;
+            this.inner = inner;
+            this.cols = cols;
+            this.queues = queues;
+            this.tileLocks = tileLocks;
+            this.pending = new AtomicInteger(tasks);
+        }
+    }
+
+    private static class BlockTask {
+        private final int id;
+        private final int row;
+        private final int col;
+        private final int inner;
+
+        BlockTask(int id, int row, int col, int inner) {
+            this.id = id;
+            this.row = row;
+            this.col = col;
+            this.inner = inner;
+        }
+    }
+}
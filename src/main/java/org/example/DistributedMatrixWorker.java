@@ -0,0 +1,198 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DistributedMatrixWorker implements AutoCloseable {
+    private static final int REQUEST_QUEUE_DEPTH = 4;
+
+    private final ServerSocketChannel server;
+    private final ParallelMultiplicationEngine engine;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    public DistributedMatrixWorker(int port) throws IOException {
+        this(new InetSocketAddress(port), ParallelMatrixMultiplication.getEngine());
+    }
+
+    public DistributedMatrixWorker(InetSocketAddress address, ParallelMultiplicationEngine engine) throws IOException {
+        this.server = ServerSocketChannel.open();
+        this.engine = engine;
+        try {
+            server.bind(address);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        this.acceptor = new Thread(this::acceptLoop, "matrix-worker-acceptor");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try (DistributedMatrixWorker worker = new DistributedMatrixWorker(port)) {
+            worker.start();
+            System.out.println("Listening on port " + worker.getAddress().getPort());
+            System.out.flush();
+            worker.acceptor.join();
+        }
+    }
+
+    public DistributedMatrixWorker start() {
+        acceptor.start();
+        return this;
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.socket().setTcpNoDelay(true);
+                connections.add(channel);
+                Thread handler = new Thread(() -> serve(channel), "matrix-worker-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        BlockingQueue<Request> requests = new ArrayBlockingQueue<>(REQUEST_QUEUE_DEPTH);
+        Thread responder = new Thread(() -> respond(channel, requests), "matrix-worker-responder");
+        responder.setDaemon(true);
+        responder.start();
+        ByteBuffer header = DistributedProtocol.allocate(DistributedProtocol.HEADER_BYTES);
+        ByteBuffer buffer = null;
+        DenseMatrix[] aSlots = new DenseMatrix[DistributedProtocol.MAX_CACHED_BLOCKS];
+        DenseMatrix[] bSlots = new DenseMatrix[DistributedProtocol.MAX_CACHED_BLOCKS];
+        try {
+            while (!closed) {
+                header.clear();
+                DistributedProtocol.readFully(channel, header);
+                DistributedProtocol.checkMagic(header);
+                int type = header.getInt();
+                long taskId = header.getLong();
+                int rows = header.getInt();
+                int inner = header.getInt();
+                int cols = header.getInt();
+                int flags = header.getInt();
+                int aSlot = header.getInt();
+                int bSlot = header.getInt();
+                if (type != DistributedProtocol.MULTIPLY || rows < 0 || inner < 0 || cols < 0
+                        || rows > DistributedProtocol.MAX_BLOCK_SIZE || inner > DistributedProtocol.MAX_BLOCK_SIZE
+                        || cols > DistributedProtocol.MAX_BLOCK_SIZE
+                        || aSlot < 0 || aSlot >= aSlots.length || bSlot < 0 || bSlot >= bSlots.length) {
+                    throw new IOException("Unexpected request of type " + type + " for a " + rows + "x" + inner + "x" + cols + " block.");
+                }
+                boolean includesA = (flags & DistributedProtocol.INCLUDES_A) != 0;
+                boolean includesB = (flags & DistributedProtocol.INCLUDES_B) != 0;
+                long payload = (includesA ? (long) rows * inner : 0) + (includesB ? (long) inner * cols : 0);
+                if (payload > 0) {
+                    buffer = DistributedProtocol.ensureCapacity(buffer, payload * Double.BYTES);
+                    DistributedProtocol.readFully(channel, buffer);
+                    DoubleBuffer doubles = buffer.asDoubleBuffer();
+                    if (includesA) {
+                        double[] aData = new double[rows * inner];
+                        doubles.get(aData);
+                        aSlots[aSlot] = new DenseMatrix(aData, 0, rows, inner, inner);
+                    }
+                    if (includesB) {
+                        double[] bData = new double[inner * cols];
+                        doubles.get(bData);
+                        bSlots[bSlot] = new DenseMatrix(bData, 0, inner, cols, cols);
+                    }
+                }
+                DenseMatrix a = aSlots[aSlot];
+                DenseMatrix b = bSlots[bSlot];
+                if (a == null || b == null || a.getRows() != rows || a.getCols() != inner
+                        || b.getRows() != inner || b.getCols() != cols) {
+                    throw new IOException("Request " + taskId + " refers to a block that was never sent.");
+                }
+                requests.put(new Request(taskId, a, b));
+            }
+        } catch (IOException e) {
+            closeQuietly(channel);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeQuietly(channel);
+        } finally {
+            responder.interrupt();
+            connections.remove(channel);
+        }
+    }
+
+    private void respond(SocketChannel channel, BlockingQueue<Request> requests) {
+        ByteBuffer buffer = null;
+        try {
+            while (true) {
+                Request request = requests.take();
+                int rows = request.a.getRows();
+                int cols = request.b.getCols();
+                ByteBuffer response;
+                try {
+                    DenseMatrix c = engine.multiply(request.a, request.b);
+                    buffer = DistributedProtocol.ensureCapacity(buffer, DistributedProtocol.messageBytes((long) rows * cols));
+                    DistributedProtocol.writeHeader(buffer, DistributedProtocol.RESULT, request.taskId, rows, request.a.getCols(), cols);
+                    buffer.asDoubleBuffer().put(c.getData(), 0, rows * cols);
+                    buffer.position(buffer.limit()).flip();
+                    response = buffer;
+                } catch (RuntimeException | OutOfMemoryError e) {
+                    response = DistributedProtocol.error(buffer, request.taskId, e.toString());
+                    buffer = response;
+                }
+                DistributedProtocol.writeFully(channel, response);
+            }
+        } catch (IOException e) {
+            closeQuietly(channel);
+        } catch (InterruptedException e) {
+            return;
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        for (SocketChannel channel : connections) {
+            channel.close();
+        }
+    }
+
+    private static class Request {
+        private final long taskId;
+        private final DenseMatrix a;
+        private final DenseMatrix b;
+
+        Request(long taskId, DenseMatrix a, DenseMatrix b) {
+            this.taskId = taskId;
+            this.a = a;
+            this.b = b;
+        }
+    }
+}
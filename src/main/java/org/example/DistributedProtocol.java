@@ -0,0 +1,88 @@
+package org.example;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.SocketChannel;
+
+final class DistributedProtocol {
+    static final int MAGIC = 0x4258444D;
+    static final int MULTIPLY = 1;
+    static final int RESULT = 2;
+    static final int ERROR = 3;
+    static final int HEADER_BYTES = 40;
+    static final int MAX_BLOCK_SIZE = 8192;
+    static final int MAX_CACHED_BLOCKS = 64;
+    static final int INCLUDES_A = 1;
+    static final int INCLUDES_B = 2;
+
+    static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A message of " + bytes + " bytes does not fit in a single buffer.");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static ByteBuffer ensureCapacity(ByteBuffer buffer, long bytes) {
+        if (buffer != null && buffer.capacity() >= bytes) {
+            buffer.clear().limit((int) bytes);
+            return buffer;
+        }
+        ByteBuffer grown = allocate(Math.max(bytes, buffer == null ? 0 : (long) buffer.capacity() * 2));
+        grown.limit((int) bytes);
+        return grown;
+    }
+
+    static void writeHeader(ByteBuffer buffer, int type, long taskId, int rows, int inner, int cols) {
+        writeHeader(buffer, type, taskId, rows, inner, cols, 0, 0, 0);
+    }
+
+    static void writeHeader(ByteBuffer buffer, int type, long taskId, int rows, int inner, int cols,
+                            int flags, int aSlot, int bSlot) {
+        buffer.putInt(MAGIC).putInt(type).putLong(taskId).putInt(rows).putInt(inner).putInt(cols)
+                .putInt(flags).putInt(aSlot).putInt(bSlot);
+    }
+
+    static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The connection was closed in the middle of a message.");
+            }
+        }
+        buffer.flip();
+    }
+
+    static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static void checkMagic(ByteBuffer header) throws IOException {
+        if (header.getInt() != MAGIC) {
+            throw new IOException("The peer does not speak the distributed matrix protocol.");
+        }
+    }
+
+    static long messageBytes(long doubles) {
+        return HEADER_BYTES + doubles * Double.BYTES;
+    }
+
+    static ByteBuffer error(ByteBuffer buffer, long taskId, String message) {
+        byte[] text = (message == null ? "Unknown error" : message).getBytes(StandardCharsets.UTF_8);
+        buffer = ensureCapacity(buffer, HEADER_BYTES + text.length);
+        writeHeader(buffer, ERROR, taskId, text.length, 0, 0);
+        buffer.put(text).flip();
+        return buffer;
+    }
+
+    static String readError(SocketChannel channel, ByteBuffer buffer, int length) throws IOException {
+        buffer = ensureCapacity(buffer, length);
+        readFully(channel, buffer);
+        byte[] text = new byte[length];
+        buffer.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+}
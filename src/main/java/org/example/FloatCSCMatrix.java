@@ -0,0 +1,141 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class FloatCSCMatrix {
+    private final float[] values;
+    private final int[] rowIndices;
+    private final int[] colPointers;
+    private final int rows;
+    private final int cols;
+
+    public FloatCSCMatrix(double[][] denseMatrix) {
+        this(new CSCMatrixMultiplication(denseMatrix));
+    }
+
+    public FloatCSCMatrix(CSCMatrixMultiplication matrix) {
+        this.rows = matrix.getRowCount();
+        this.cols = matrix.getColCount();
+        this.values = FloatMatrixMultiplication.toFloat(matrix.getValues());
+        this.rowIndices = matrix.getRowIndices();
+        this.colPointers = matrix.getColPointers();
+    }
+
+    public float[] multiply(float[] vector) {
+        float[] result = new float[rows];
+        multiplyInto(result, vector, 1.0f, 0.0f);
+        return result;
+    }
+
+    public void multiplyInto(float[] result, float[] vector, float alpha, float beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSC matrix.");
+        }
+        if (beta == 0.0f) {
+            Arrays.fill(result, 0.0f);
+        } else if (beta != 1.0f) {
+            for (int i = 0; i < rows; i++) {
+                result[i] *= beta;
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            float x = alpha * vector[j];
+            for (int p = colPointers[j]; p < colPointers[j + 1]; p++) {
+                result[rowIndices[p]] += values[p] * x;
+            }
+        }
+    }
+
+    public double[] multiplyMixed(float[] vector) {
+        double[] result = new double[rows];
+        multiplyMixedInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyMixedInto(double[] result, float[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSC matrix.");
+        }
+        if (beta == 0.0) {
+            Arrays.fill(result, 0.0);
+        } else if (beta != 1.0) {
+            for (int i = 0; i < rows; i++) {
+                result[i] *= beta;
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            double x = alpha * vector[j];
+            for (int p = colPointers[j]; p < colPointers[j + 1]; p++) {
+                result[rowIndices[p]] += values[p] * x;
+            }
+        }
+    }
+
+    public float[][] multiply(float[][] denseMatrix) {
+        float[][] result = new float[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0f, 0.0f);
+        return result;
+    }
+
+    public void multiplyInto(float[][] result, float[][] denseMatrix, float alpha, float beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows in the dense matrix does not match the columns of the CSC matrix.");
+        }
+        FloatMatrixMultiplication.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        FloatMatrixMultiplication.scale(result, beta);
+        for (int j = 0; j < cols; j++) {
+            float[] denseRow = denseMatrix[j];
+            for (int p = colPointers[j]; p < colPointers[j + 1]; p++) {
+                float[] resultRow = result[rowIndices[p]];
+                float value = alpha * values[p];
+                for (int k = 0; k < denseRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+        }
+    }
+
+    public double[][] multiplyMixed(float[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyMixedInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyMixedInto(double[][] result, float[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows in the dense matrix does not match the columns of the CSC matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        for (int j = 0; j < cols; j++) {
+            float[] denseRow = denseMatrix[j];
+            for (int p = colPointers[j]; p < colPointers[j + 1]; p++) {
+                double[] resultRow = result[rowIndices[p]];
+                double value = alpha * values[p];
+                for (int k = 0; k < denseRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+        }
+    }
+
+    public float[] getValues() {
+        return values;
+    }
+
+    public int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    public int[] getColPointers() {
+        return colPointers;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColCount() {
+        return cols;
+    }
+}
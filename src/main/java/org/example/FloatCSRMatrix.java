@@ -0,0 +1,131 @@
+package org.example;
+
+public class FloatCSRMatrix {
+    private final float[] values;
+    private final int[] columnIndices;
+    private final int[] rowPointers;
+    private final int rows;
+    private final int cols;
+
+    public FloatCSRMatrix(double[][] denseMatrix) {
+        this(new CSRMatrixMultiplication.CSRMatrix(denseMatrix));
+    }
+
+    public FloatCSRMatrix(CSRMatrixMultiplication.CSRMatrix matrix) {
+        this.rows = matrix.getRows();
+        this.cols = matrix.getCols();
+        this.values = FloatMatrixMultiplication.toFloat(matrix.getValues());
+        this.columnIndices = matrix.getColumnIndices();
+        this.rowPointers = matrix.getRowPointers();
+    }
+
+    public float[] multiply(float[] vector) {
+        float[] result = new float[rows];
+        multiplyInto(result, vector, 1.0f, 0.0f);
+        return result;
+    }
+
+    public void multiplyInto(float[] result, float[] vector, float alpha, float beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSR matrix.");
+        }
+        for (int i = 0; i < rows; i++) {
+            float sum = 0.0f;
+            for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                sum += values[j] * vector[columnIndices[j]];
+            }
+            result[i] = beta == 0.0f ? alpha * sum : alpha * sum + beta * result[i];
+        }
+    }
+
+    public double[] multiplyMixed(float[] vector) {
+        double[] result = new double[rows];
+        multiplyMixedInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyMixedInto(double[] result, float[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSR matrix.");
+        }
+        for (int i = 0; i < rows; i++) {
+            double sum = 0.0;
+            for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                sum = Math.fma(values[j], vector[columnIndices[j]], sum);
+            }
+            result[i] = beta == 0.0 ? alpha * sum : alpha * sum + beta * result[i];
+        }
+    }
+
+    public float[][] multiply(float[][] denseMatrix) {
+        float[][] result = new float[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0f, 0.0f);
+        return result;
+    }
+
+    public void multiplyInto(float[][] result, float[][] denseMatrix, float alpha, float beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+        }
+        FloatMatrixMultiplication.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        FloatMatrixMultiplication.scale(result, beta);
+        for (int i = 0; i < rows; i++) {
+            float[] resultRow = result[i];
+            for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                float value = alpha * values[j];
+                float[] denseRow = denseMatrix[columnIndices[j]];
+                for (int k = 0; k < resultRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+        }
+    }
+
+    public double[][] multiplyMixed(float[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyMixedInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyMixedInto(double[][] result, float[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        for (int i = 0; i < rows; i++) {
+            double[] resultRow = result[i];
+            for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                double value = alpha * values[j];
+                float[] denseRow = denseMatrix[columnIndices[j]];
+                for (int k = 0; k < resultRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+        }
+    }
+
+    public float[] getValues() {
+        return values;
+    }
+
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNonZeroCount() {
+        return rowPointers[rows];
+    }
+}
@@ -0,0 +1,144 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class FloatMatrixMultiplication {
+    private static final int BLOCK_SIZE = 64;
+
+    public static float[][] multiply(float[][] a, float[][] b) {
+        checkMultiplicable(a, b);
+        float[][] c = new float[a.length][b.length == 0 ? 0 : b[0].length];
+        multiplyInto(c, a, b, 1.0f, 0.0f);
+        return c;
+    }
+
+    public static void multiplyInto(float[][] c, float[][] a, float[][] b, float alpha, float beta) {
+        checkMultiplicable(a, b);
+        int m = a.length;
+        int inner = b.length;
+        int n = inner == 0 ? 0 : b[0].length;
+        checkOutput(c, m, n);
+        scale(c, beta);
+        for (int i = 0; i < m; i += BLOCK_SIZE) {
+            for (int k = 0; k < inner; k += BLOCK_SIZE) {
+                for (int j = 0; j < n; j += BLOCK_SIZE) {
+                    for (int ii = i; ii < Math.min(i + BLOCK_SIZE, m); ii++) {
+                        float[] cRow = c[ii];
+                        for (int kk = k; kk < Math.min(k + BLOCK_SIZE, inner); kk++) {
+                            float aik = alpha * a[ii][kk];
+                            float[] bRow = b[kk];
+                            for (int jj = j; jj < Math.min(j + BLOCK_SIZE, n); jj++) {
+                                cRow[jj] += aik * bRow[jj];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public static double[][] multiplyMixed(float[][] a, float[][] b) {
+        checkMultiplicable(a, b);
+        double[][] c = new double[a.length][b.length == 0 ? 0 : b[0].length];
+        multiplyMixedInto(c, a, b, 1.0, 0.0);
+        return c;
+    }
+
+    public static void multiplyMixedInto(double[][] c, float[][] a, float[][] b, double alpha, double beta) {
+        checkMultiplicable(a, b);
+        int m = a.length;
+        int inner = b.length;
+        int n = inner == 0 ? 0 : b[0].length;
+        DenseMatrix.checkOutput(c, m, n);
+        DenseMatrix.scale(c, beta);
+        for (int i = 0; i < m; i += BLOCK_SIZE) {
+            for (int k = 0; k < inner; k += BLOCK_SIZE) {
+                for (int j = 0; j < n; j += BLOCK_SIZE) {
+                    for (int ii = i; ii < Math.min(i + BLOCK_SIZE, m); ii++) {
+                        double[] cRow = c[ii];
+                        for (int kk = k; kk < Math.min(k + BLOCK_SIZE, inner); kk++) {
+                            double aik = alpha * a[ii][kk];
+                            float[] bRow = b[kk];
+                            for (int jj = j; jj < Math.min(j + BLOCK_SIZE, n); jj++) {
+                                cRow[jj] += aik * bRow[jj];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public static float[][] toFloat(double[][] matrix) {
+        float[][] result = new float[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = toFloat(matrix[i]);
+        }
+        return result;
+    }
+
+    public static float[] toFloat(double[] vector) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) vector[i];
+        }
+        return result;
+    }
+
+    public static double[][] toDouble(float[][] matrix) {
+        double[][] result = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = toDouble(matrix[i]);
+        }
+        return result;
+    }
+
+    public static double[] toDouble(float[] vector) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i];
+        }
+        return result;
+    }
+
+    static void checkMultiplicable(float[][] a, float[][] b) {
+        int inner = b.length;
+        for (float[] row : a) {
+            if (row.length != inner) {
+                throw new IllegalArgumentException("The number of columns of the left matrix does not match the rows of the right matrix.");
+            }
+        }
+        int cols = inner == 0 ? 0 : b[0].length;
+        for (float[] row : b) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("All rows of the right matrix must have the same length.");
+            }
+        }
+    }
+
+    static void checkOutput(float[][] c, int rows, int cols) {
+        if (c.length != rows) {
+            throw new IllegalArgumentException("The output matrix must be " + rows + "x" + cols + ".");
+        }
+        for (float[] row : c) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("The output matrix must be " + rows + "x" + cols + ".");
+            }
+        }
+    }
+
+    static void scale(float[][] matrix, float factor) {
+        if (factor == 1.0f) {
+            return;
+        }
+        for (float[] row : matrix) {
+            if (factor == 0.0f) {
+                Arrays.fill(row, 0.0f);
+            } else {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] *= factor;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.Random;
+
+public class GemmAutoTuner {
+    private static final String TUNING_FILE_PROPERTY = "matrix.gemm.tuning";
+    private static final String CALIBRATE_PROPERTY = "matrix.gemm.calibrate";
+    private static final int CALIBRATION_SIZE = 384;
+    private static final int CALIBRATION_RUNS = 3;
+    private static final long DEFAULT_L1_BYTES = 32 * 1024;
+    private static final long DEFAULT_L2_BYTES = 1024 * 1024;
+    private static final long DEFAULT_L3_BYTES = 8 * 1024 * 1024;
+
+    private static volatile GemmParameters parameters;
+
+    private GemmAutoTuner() {
+    }
+
+    public static GemmParameters parameters() {
+        GemmParameters result = parameters;
+        if (result == null) {
+            synchronized (GemmAutoTuner.class) {
+                result = parameters;
+                if (result == null) {
+                    result = loadOrTune();
+                    parameters = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public static synchronized GemmParameters retune() {
+        GemmParameters result = tune(VectorMatrixMultiplication.preferredKernel());
+        parameters = result;
+        return result;
+    }
+
+    private static GemmParameters loadOrTune() {
+        MicroKernel kernel = VectorMatrixMultiplication.preferredKernel();
+        Path file = tuningFile();
+        if (file != null && Files.isReadable(file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                if (kernelKey(kernel).equals(properties.getProperty("kernel"))) {
+                    return GemmParameters.load(properties);
+                }
+            } catch (IOException | RuntimeException e) {
+                // An unreadable or stale tuning file is simply recomputed below.
+            }
+        }
+        return tune(kernel);
+    }
+
+    private static GemmParameters tune(MicroKernel kernel) {
+        GemmParameters estimate = fromCacheSizes(kernel);
+        GemmParameters result = Boolean.parseBoolean(System.getProperty(CALIBRATE_PROPERTY, "true"))
+                ? calibrate(kernel, estimate)
+                : estimate;
+        Path file = tuningFile();
+        if (file != null) {
+            Properties properties = new Properties();
+            properties.setProperty("kernel", kernelKey(kernel));
+            result.store(properties);
+            try {
+                store(file.toAbsolutePath(), properties);
+            } catch (IOException e) {
+                // Persisting is best effort; the tuned parameters stay valid for this run.
+            }
+        }
+        return result;
+    }
+
+    private static void store(Path file, Properties properties) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                properties.store(out, "GEMM block sizes chosen by GemmAutoTuner");
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static GemmParameters fromCacheSizes(MicroKernel kernel) {
+        long[] caches = cacheSizes();
+        int mr = kernel.rowsPerPanel();
+        int nr = kernel.colsPerPanel();
+        int kc = clamp((int) (caches[0] / 2 / (Double.BYTES * nr)), 64, 1024);
+        int mc = clamp((int) (caches[1] / 2 / ((long) Double.BYTES * kc)) / mr * mr, 4 * mr, 1024);
+        int nc = clamp((int) (caches[2] / 2 / ((long) Double.BYTES * kc)) / nr * nr, 4 * nr, 8192);
+        return new GemmParameters(mc, kc, nc);
+    }
+
+    static GemmParameters calibrate(MicroKernel kernel, GemmParameters estimate) {
+        DenseMatrix a = randomMatrix(CALIBRATION_SIZE, 1);
+        DenseMatrix b = randomMatrix(CALIBRATION_SIZE, 2);
+        DenseMatrix c = new DenseMatrix(CALIBRATION_SIZE, CALIBRATION_SIZE);
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            TiledMatrixMultiplication.multiplyAccumulate(a, b, c, kernel, estimate);
+        }
+
+        GemmParameters best = estimate;
+        long bestTime = Long.MAX_VALUE;
+        int[] factors = {1, 2, 4};
+        for (int kcFactor : factors) {
+            int kc = clamp(estimate.getKc() * kcFactor / 2, 32, 2048);
+            for (int mcFactor : factors) {
+                int mc = clamp(estimate.getMc() * mcFactor / 2, kernel.rowsPerPanel(), 2048);
+                GemmParameters candidate = new GemmParameters(mc, kc, estimate.getNc());
+                long time = Long.MAX_VALUE;
+                for (int run = 0; run < CALIBRATION_RUNS; run++) {
+                    long start = System.nanoTime();
+                    TiledMatrixMultiplication.multiplyAccumulate(a, b, c, kernel, candidate);
+                    time = Math.min(time, System.nanoTime() - start);
+                }
+                if (time < bestTime) {
+                    bestTime = time;
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long[] cacheSizes() {
+        long[] sizes = {DEFAULT_L1_BYTES, DEFAULT_L2_BYTES, DEFAULT_L3_BYTES};
+        Path cacheDirectory = Paths.get("/sys/devices/system/cpu/cpu0/cache");
+        for (int index = 0; index < 8; index++) {
+            Path entry = cacheDirectory.resolve("index" + index);
+            if (!Files.isDirectory(entry)) {
+                break;
+            }
+            try {
+                String type = Files.readString(entry.resolve("type")).trim();
+                int level = Integer.parseInt(Files.readString(entry.resolve("level")).trim());
+                long size = parseCacheSize(Files.readString(entry.resolve("size")).trim());
+                if (!type.equals("Instruction") && level >= 1 && level <= 3 && size > 0) {
+                    sizes[level - 1] = size;
+                }
+            } catch (IOException | NumberFormatException e) {
+                break;
+            }
+        }
+        return sizes;
+    }
+
+    private static long parseCacheSize(String size) {
+        long multiplier = 1;
+        if (size.endsWith("K")) {
+            multiplier = 1024;
+        } else if (size.endsWith("M")) {
+            multiplier = 1024 * 1024;
+        }
+        String digits = multiplier == 1 ? size : size.substring(0, size.length() - 1);
+        return Long.parseLong(digits) * multiplier;
+    }
+
+    private static Path tuningFile() {
+        String configured = System.getProperty(TUNING_FILE_PROPERTY);
+        return configured == null || configured.isEmpty() ? null : Paths.get(configured);
+    }
+
+    private static String kernelKey(MicroKernel kernel) {
+        return kernel.getClass().getSimpleName() + ":" + kernel.rowsPerPanel() + "x" + kernel.colsPerPanel();
+    }
+
+    private static DenseMatrix randomMatrix(int size, long seed) {
+        DenseMatrix matrix = new DenseMatrix(size, size);
+        Random random = new Random(seed);
+        double[] data = matrix.getData();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble();
+        }
+        return matrix;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import java.util.Arrays;
+
+class GemmPacking {
+    private GemmPacking() {
+    }
+
+    static int panelCount(int size, int panelSize) {
+        return (size + panelSize - 1) / panelSize;
+    }
+
+    static void packA(DenseMatrix a, int rowStart, int rowCount, int depthStart, int depth, int panelRows, double alpha, double[] packed) {
+        double[] data = a.getData();
+        int stride = a.getStride();
+        int index = 0;
+        for (int ip = 0; ip < rowCount; ip += panelRows) {
+            int rows = Math.min(panelRows, rowCount - ip);
+            int base = a.getOffset() + (rowStart + ip) * stride + depthStart;
+            for (int p = 0; p < depth; p++) {
+                int r = 0;
+                for (; r < rows; r++) {
+                    packed[index++] = alpha * data[base + r * stride + p];
+                }
+                for (; r < panelRows; r++) {
+                    packed[index++] = 0.0;
+                }
+            }
+        }
+    }
+
+    static void packB(DenseMatrix b, int depthStart, int depth, int colStart, int colCount, int panelCols, double[] packed) {
+        double[] data = b.getData();
+        int stride = b.getStride();
+        int index = 0;
+        for (int jp = 0; jp < colCount; jp += panelCols) {
+            int cols = Math.min(panelCols, colCount - jp);
+            int base = b.getOffset() + depthStart * stride + colStart + jp;
+            for (int p = 0; p < depth; p++) {
+                int rowBase = base + p * stride;
+                if (cols == panelCols) {
+                    System.arraycopy(data, rowBase, packed, index, panelCols);
+                    index += panelCols;
+                } else {
+                    System.arraycopy(data, rowBase, packed, index, cols);
+                    Arrays.fill(packed, index + cols, index + panelCols, 0.0);
+                    index += panelCols;
+                }
+            }
+        }
+    }
+
+    static void macroKernel(MicroKernel kernel, int depth, int rowCount, int colCount, double[] packedA, double[] packedB,
+                            DenseMatrix c, int rowStart, int colStart, double[] edge) {
+        int mr = kernel.rowsPerPanel();
+        int nr = kernel.colsPerPanel();
+        double[] data = c.getData();
+        int stride = c.getStride();
+        for (int jr = 0; jr < colCount; jr += nr) {
+            int cols = Math.min(nr, colCount - jr);
+            int bOffset = (jr / nr) * depth * nr;
+            for (int ir = 0; ir < rowCount; ir += mr) {
+                int rows = Math.min(mr, rowCount - ir);
+                int aOffset = (ir / mr) * depth * mr;
+                int cOffset = c.getOffset() + (rowStart + ir) * stride + colStart + jr;
+                if (rows == mr && cols == nr) {
+                    kernel.compute(depth, packedA, aOffset, packedB, bOffset, data, cOffset, stride);
+                } else {
+                    Arrays.fill(edge, 0, mr * nr, 0.0);
+                    kernel.compute(depth, packedA, aOffset, packedB, bOffset, edge, 0, nr);
+                    for (int r = 0; r < rows; r++) {
+                        for (int j = 0; j < cols; j++) {
+                            data[cOffset + r * stride + j] += edge[r * nr + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
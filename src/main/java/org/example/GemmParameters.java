@@ -0,0 +1,48 @@
+package org.example;
+
+import java.util.Properties;
+
+public class GemmParameters {
+    private final int mc;
+    private final int kc;
+    private final int nc;
+
+    public GemmParameters(int mc, int kc, int nc) {
+        if (mc <= 0 || kc <= 0 || nc <= 0) {
+            throw new IllegalArgumentException("Block sizes must be positive.");
+        }
+        this.mc = mc;
+        this.kc = kc;
+        this.nc = nc;
+    }
+
+    public int getMc() {
+        return mc;
+    }
+
+    public int getKc() {
+        return kc;
+    }
+
+    public int getNc() {
+        return nc;
+    }
+
+    void store(Properties properties) {
+        properties.setProperty("mc", Integer.toString(mc));
+        properties.setProperty("kc", Integer.toString(kc));
+        properties.setProperty("nc", Integer.toString(nc));
+    }
+
+    static GemmParameters load(Properties properties) {
+        return new GemmParameters(
+                Integer.parseInt(properties.getProperty("mc")),
+                Integer.parseInt(properties.getProperty("kc")),
+                Integer.parseInt(properties.getProperty("nc")));
+    }
+
+    @Override
+    public String toString() {
+        return "GemmParameters{mc=" + mc + ", kc=" + kc + ", nc=" + nc + "}";
+    }
+}
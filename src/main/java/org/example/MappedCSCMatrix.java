@@ -0,0 +1,123 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class MappedCSCMatrix {
+    private final int rows;
+    private final int cols;
+    private final long nonZeroCount;
+    private final ChunkedBuffer colPointers;
+    private final ChunkedBuffer rowIndices;
+    private final ChunkedBuffer values;
+
+    MappedCSCMatrix(int rows, int cols, long nonZeroCount, ChunkedBuffer colPointers, ChunkedBuffer rowIndices, ChunkedBuffer values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nonZeroCount = nonZeroCount;
+        this.colPointers = colPointers;
+        this.rowIndices = rowIndices;
+        this.values = values;
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSC matrix.");
+        }
+        multiplyInto(cols, colPointers, rowIndices, values, result, vector, alpha, beta);
+    }
+
+    static void multiplyInto(int cols, ChunkedBuffer colPointers, ChunkedBuffer rowIndices, ChunkedBuffer values,
+                             double[] result, double[] vector, double alpha, double beta) {
+        if (beta == 0.0) {
+            Arrays.fill(result, 0.0);
+        } else if (beta != 1.0) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] *= beta;
+            }
+        }
+        long start = colPointers.getLong(0);
+        for (int j = 0; j < cols; j++) {
+            long end = colPointers.getLong(j + 1);
+            double x = alpha * vector[j];
+            if (x != 0.0) {
+                for (long p = start; p < end; p++) {
+                    result[rowIndices.getInt(p)] += values.getDouble(p) * x;
+                }
+            }
+            start = end;
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSC matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        multiplyInto(cols, colPointers, rowIndices, values, result, denseMatrix, alpha, beta);
+    }
+
+    static void multiplyInto(int cols, ChunkedBuffer colPointers, ChunkedBuffer rowIndices, ChunkedBuffer values,
+                             double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        DenseMatrix.scale(result, beta);
+        long start = colPointers.getLong(0);
+        for (int j = 0; j < cols; j++) {
+            long end = colPointers.getLong(j + 1);
+            double[] denseRow = denseMatrix[j];
+            for (long p = start; p < end; p++) {
+                double value = alpha * values.getDouble(p);
+                double[] resultRow = result[rowIndices.getInt(p)];
+                for (int k = 0; k < resultRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+            start = end;
+        }
+    }
+
+    public CSCMatrixMultiplication toCSC() {
+        return toCSC(rows, cols, nonZeroCount, colPointers, rowIndices, values);
+    }
+
+    static CSCMatrixMultiplication toCSC(int rows, int cols, long nonZeroCount,
+                                         ChunkedBuffer colPointers, ChunkedBuffer rowIndices, ChunkedBuffer values) {
+        if (nonZeroCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("A matrix with " + nonZeroCount + " non-zeros does not fit on the heap.");
+        }
+        int count = (int) nonZeroCount;
+        int[] heapColPointers = new int[cols + 1];
+        int[] heapRowIndices = new int[count];
+        double[] heapValues = new double[count];
+        for (int j = 0; j <= cols; j++) {
+            heapColPointers[j] = (int) colPointers.getLong(j);
+        }
+        for (int p = 0; p < count; p++) {
+            heapRowIndices[p] = rowIndices.getInt(p);
+            heapValues[p] = values.getDouble(p);
+        }
+        return new CSCMatrixMultiplication(rows, cols, heapValues, heapRowIndices, heapColPointers);
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColCount() {
+        return cols;
+    }
+
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+}
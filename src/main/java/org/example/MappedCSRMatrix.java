@@ -0,0 +1,140 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+public class MappedCSRMatrix {
+    private final int rows;
+    private final int cols;
+    private final long nonZeroCount;
+    private final ChunkedBuffer rowPointers;
+    private final ChunkedBuffer columnIndices;
+    private final ChunkedBuffer values;
+
+    MappedCSRMatrix(int rows, int cols, long nonZeroCount, ChunkedBuffer rowPointers, ChunkedBuffer columnIndices, ChunkedBuffer values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nonZeroCount = nonZeroCount;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSR matrix.");
+        }
+        multiplyInto(rows, rowPointers, columnIndices, values, result, vector, alpha, beta);
+    }
+
+    static void multiplyInto(int rows, ChunkedBuffer rowPointers, ChunkedBuffer columnIndices, ChunkedBuffer values,
+                             double[] result, double[] vector, double alpha, double beta) {
+        long start = rowPointers.getLong(0);
+        for (int i = 0; i < rows; i++) {
+            long end = rowPointers.getLong(i + 1);
+            double sum = 0.0;
+            long j = start;
+            while (j < end) {
+                ByteBuffer indexChunk = columnIndices.chunk(j, Integer.BYTES);
+                ByteBuffer valueChunk = values.chunk(j, Double.BYTES);
+                int indexPosition = ChunkedBuffer.chunkOffset(j, Integer.BYTES);
+                int valuePosition = ChunkedBuffer.chunkOffset(j, Double.BYTES);
+                int count = (int) (Math.min(end, Math.min(ChunkedBuffer.chunkEnd(j, Integer.BYTES), ChunkedBuffer.chunkEnd(j, Double.BYTES))) - j);
+                for (int p = 0; p < count; p++) {
+                    sum += valueChunk.getDouble(valuePosition + (p << 3)) * vector[indexChunk.getInt(indexPosition + (p << 2))];
+                }
+                j += count;
+            }
+            result[i] = beta == 0.0 ? alpha * sum : alpha * sum + beta * result[i];
+            start = end;
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        multiplyInto(rows, rowPointers, columnIndices, values, result, denseMatrix, alpha, beta);
+    }
+
+    static void multiplyInto(int rows, ChunkedBuffer rowPointers, ChunkedBuffer columnIndices, ChunkedBuffer values,
+                             double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        DenseMatrix.scale(result, beta);
+        long start = rowPointers.getLong(0);
+        for (int i = 0; i < rows; i++) {
+            long end = rowPointers.getLong(i + 1);
+            double[] resultRow = result[i];
+            for (long j = start; j < end; j++) {
+                double value = alpha * values.getDouble(j);
+                double[] denseRow = denseMatrix[columnIndices.getInt(j)];
+                for (int k = 0; k < resultRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+            start = end;
+        }
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix toCSR() {
+        return toCSR(rows, cols, nonZeroCount, rowPointers, columnIndices, values);
+    }
+
+    static CSRMatrixMultiplication.CSRMatrix toCSR(int rows, int cols, long nonZeroCount,
+                                                   ChunkedBuffer rowPointers, ChunkedBuffer columnIndices, ChunkedBuffer values) {
+        if (nonZeroCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("A matrix with " + nonZeroCount + " non-zeros does not fit on the heap.");
+        }
+        int count = (int) nonZeroCount;
+        int[] heapRowPointers = new int[rows + 1];
+        int[] heapColumnIndices = new int[count];
+        double[] heapValues = new double[count];
+        for (int i = 0; i <= rows; i++) {
+            heapRowPointers[i] = (int) rowPointers.getLong(i);
+        }
+        for (int p = 0; p < count; p++) {
+            heapColumnIndices[p] = columnIndices.getInt(p);
+            heapValues[p] = values.getDouble(p);
+        }
+        return new CSRMatrixMultiplication.CSRMatrix(rows, cols, heapValues, heapColumnIndices, heapRowPointers);
+    }
+
+    public long getRowPointer(int row) {
+        return rowPointers.getLong(row);
+    }
+
+    public int getColumnIndex(long index) {
+        return columnIndices.getInt(index);
+    }
+
+    public double getValue(long index) {
+        return values.getDouble(index);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+public class MappedDenseMatrix {
+    private final int rows;
+    private final int cols;
+    private final ChunkedBuffer values;
+
+    MappedDenseMatrix(int rows, int cols, ChunkedBuffer values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.values = values;
+    }
+
+    public double get(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Entry (" + row + ", " + col + ") is outside a " + rows + "x" + cols + " matrix.");
+        }
+        return values.getDouble((long) row * cols + col);
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the matrix.");
+        }
+        long index = 0;
+        for (int i = 0; i < rows; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < cols; j++) {
+                sum += values.getDouble(index++) * vector[j];
+            }
+            result[i] = beta == 0.0 ? alpha * sum : alpha * sum + beta * result[i];
+        }
+    }
+
+    public double[][] multiply(double[][] b) {
+        double[][] result = new double[rows][b.length == 0 ? 0 : b[0].length];
+        multiplyInto(result, b, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] b, double alpha, double beta) {
+        if (b.length != cols) {
+            throw new IllegalArgumentException("The number of columns of the left matrix does not match the rows of the right matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : b[0].length);
+        DenseMatrix.scale(result, beta);
+        long index = 0;
+        for (int i = 0; i < rows; i++) {
+            double[] resultRow = result[i];
+            for (int k = 0; k < cols; k++) {
+                double aik = alpha * values.getDouble(index++);
+                double[] bRow = b[k];
+                for (int j = 0; j < resultRow.length; j++) {
+                    resultRow[j] += aik * bRow[j];
+                }
+            }
+        }
+    }
+
+    public DenseMatrix toDenseMatrix() {
+        DenseMatrix matrix = new DenseMatrix(rows, cols);
+        double[] data = matrix.getData();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = values.getDouble(i);
+        }
+        return matrix;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example;
+
+import java.util.Random;
+
+public class MatrixCostModel {
+    public enum Kernel {
+        DENSE_BLOCKED,
+        DENSE_PARALLEL,
+        CSR_DENSE,
+        CSR_DENSE_PARALLEL,
+        CSR_CSR
+    }
+
+    static final int BLOCK_SIZE = 64;
+    private static final int CALIBRATION_SIZE = 128;
+    private static final double CALIBRATION_DENSITY = 0.1;
+    private static final int SPARSE_CALIBRATION_SIZE = 1024;
+    private static final double SPARSE_CALIBRATION_DENSITY = 0.004;
+    private static final int CALIBRATION_RUNS = 15;
+
+    private final double denseNanosPerFlop;
+    private final double sparseDenseNanosPerFlop;
+    private final double sparseSparseNanosPerFlop;
+    private final double conversionNanosPerElement;
+    private final double parallelOverheadNanos;
+    private final int parallelism;
+
+    public MatrixCostModel(double denseNanosPerFlop, double sparseDenseNanosPerFlop, double sparseSparseNanosPerFlop,
+                           double conversionNanosPerElement, double parallelOverheadNanos, int parallelism) {
+        this.denseNanosPerFlop = denseNanosPerFlop;
+        this.sparseDenseNanosPerFlop = sparseDenseNanosPerFlop;
+        this.sparseSparseNanosPerFlop = sparseSparseNanosPerFlop;
+        this.conversionNanosPerElement = conversionNanosPerElement;
+        this.parallelOverheadNanos = parallelOverheadNanos;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public static MatrixCostModel calibrated() {
+        return Holder.INSTANCE;
+    }
+
+    public static MatrixCostModel calibrate() {
+        Random random = new Random(42);
+        double[][] dense = randomMatrix(CALIBRATION_SIZE, CALIBRATION_SIZE, 1.0, random);
+        double[][] sparse = randomMatrix(CALIBRATION_SIZE, CALIBRATION_SIZE, CALIBRATION_DENSITY, random);
+        double[][] tiny = randomMatrix(8, 8, 1.0, random);
+        CSRMatrixMultiplication.CSRMatrix verySparse = new CSRMatrixMultiplication.CSRMatrix(
+                randomMatrix(SPARSE_CALIBRATION_SIZE, SPARSE_CALIBRATION_SIZE, SPARSE_CALIBRATION_DENSITY, random));
+
+        long denseNanos = Long.MAX_VALUE;
+        long conversionNanos = Long.MAX_VALUE;
+        long sparseDenseNanos = Long.MAX_VALUE;
+        long sparseSparseNanos = Long.MAX_VALUE;
+        long parallelNanos = Long.MAX_VALUE;
+        CSRMatrixMultiplication.CSRMatrix csr = null;
+        for (int run = 0; run < CALIBRATION_RUNS; run++) {
+            long start = System.nanoTime();
+            BlockMatrixMultiplication.multiply(dense, dense, BLOCK_SIZE);
+            denseNanos = Math.min(denseNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            csr = new CSRMatrixMultiplication.CSRMatrix(sparse);
+            conversionNanos = Math.min(conversionNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            csr.multiply(dense);
+            sparseDenseNanos = Math.min(sparseDenseNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            verySparse.multiply(verySparse);
+            sparseSparseNanos = Math.min(sparseSparseNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            ParallelMatrixMultiplication.multiply(tiny, tiny);
+            parallelNanos = Math.min(parallelNanos, System.nanoTime() - start);
+        }
+
+        double n = CALIBRATION_SIZE;
+        double nonZeros = csr.getNonZeroCount();
+        double sparseNonZeros = verySparse.getNonZeroCount();
+        double sparseSparseFlops = sparseNonZeros * (sparseNonZeros / SPARSE_CALIBRATION_SIZE);
+        return new MatrixCostModel(
+                denseNanos / (n * n * n),
+                sparseDenseNanos / (nonZeros * n),
+                sparseSparseNanos / sparseSparseFlops,
+                conversionNanos / (n * n),
+                parallelNanos,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public Kernel choose(MatrixProfile a, MatrixProfile b, boolean csrAvailable) {
+        Kernel best = Kernel.DENSE_BLOCKED;
+        double bestCost = Double.MAX_VALUE;
+        for (Kernel kernel : Kernel.values()) {
+            double cost = estimate(kernel, a, b, csrAvailable);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = kernel;
+            }
+        }
+        return best;
+    }
+
+    public double estimate(Kernel kernel, MatrixProfile a, MatrixProfile b, boolean csrAvailable) {
+        double m = a.getRows();
+        double k = a.getCols();
+        double n = b.getCols();
+        double conversionA = csrAvailable ? 0.0 : m * k * conversionNanosPerElement;
+        double sparseDense = a.getNonZeroCount() * n * sparseDenseNanosPerFlop;
+        switch (kernel) {
+            case DENSE_BLOCKED:
+                return m * k * n * denseNanosPerFlop;
+            case DENSE_PARALLEL:
+                return m * k * n * denseNanosPerFlop / parallelism + parallelOverheadNanos;
+            case CSR_DENSE:
+                return conversionA + sparseDense;
+            case CSR_DENSE_PARALLEL:
+                double balancedParts = a.getMaxRowNonZeros() == 0
+                        ? 1.0
+                        : (double) a.getNonZeroCount() / a.getMaxRowNonZeros();
+                return conversionA + sparseDense / Math.max(1.0, Math.min(parallelism, balancedParts)) + parallelOverheadNanos;
+            case CSR_CSR:
+                double averageRowNonZerosB = k == 0 ? 0.0 : b.getNonZeroCount() / k;
+                return conversionA + k * n * conversionNanosPerElement + m * n * conversionNanosPerElement
+                        + a.getNonZeroCount() * averageRowNonZerosB * sparseSparseNanosPerFlop;
+            default:
+                throw new IllegalArgumentException("Unknown kernel " + kernel);
+        }
+    }
+
+    private static double[][] randomMatrix(int rows, int cols, double density, Random random) {
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (random.nextDouble() < density) {
+                    matrix[i][j] = 0.1 + (9.8 * random.nextDouble());
+                }
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixCostModel{dense=" + denseNanosPerFlop + "ns, csrDense=" + sparseDenseNanosPerFlop
+                + "ns, csrCsr=" + sparseSparseNanosPerFlop + "ns, conversion=" + conversionNanosPerElement
+                + "ns, parallelOverhead=" + parallelOverheadNanos + "ns, parallelism=" + parallelism + "}";
+    }
+
+    private static class Holder {
+        private static final MatrixCostModel INSTANCE = calibrate();
+    }
+}
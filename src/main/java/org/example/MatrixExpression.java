@@ -0,0 +1,475 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public abstract class MatrixExpression {
+    private static final double TRANSPOSE_COST_PER_ELEMENT = 1.0;
+
+    private final int rows;
+    private final int cols;
+
+    private MatrixExpression(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    public static MatrixExpression of(double[][] matrix) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        for (double[] row : matrix) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("All rows must have the same number of columns.");
+            }
+        }
+        return new Leaf(matrix, null, matrix.length, cols);
+    }
+
+    public static MatrixExpression of(CSRMatrixMultiplication.CSRMatrix matrix) {
+        return new Leaf(null, matrix, matrix.getRows(), matrix.getCols());
+    }
+
+    public static MatrixExpression of(CSCMatrixMultiplication matrix) {
+        return of(matrix.transpose()).transpose();
+    }
+
+    public static MatrixExpression vector(double[] vector) {
+        return of(new double[][]{vector}).transpose();
+    }
+
+    public MatrixExpression times(MatrixExpression other) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply a " + rows + "x" + cols + " expression by a "
+                    + other.rows + "x" + other.cols + " expression.");
+        }
+        return new Product(this, other);
+    }
+
+    public MatrixExpression times(double[][] matrix) {
+        return times(of(matrix));
+    }
+
+    public MatrixExpression times(CSRMatrixMultiplication.CSRMatrix matrix) {
+        return times(of(matrix));
+    }
+
+    public MatrixExpression times(double[] vector) {
+        return times(vector(vector));
+    }
+
+    public MatrixExpression transpose() {
+        return new Transpose(this);
+    }
+
+    public MatrixExpression scale(double factor) {
+        return new Scale(this, factor);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    abstract double collect(boolean transposed, List<Factor> factors);
+
+    public double[][] evaluate() {
+        Plan plan = plan();
+        Value value = plan.evaluate();
+        if (value.sparse != null) {
+            return value.transposed ? transposedDense(value.sparse) : value.sparse.toDense();
+        }
+        if (value.transposed) {
+            return transposed(value.dense);
+        }
+        return value.owned ? value.dense : copy(value.dense);
+    }
+
+    public double[] evaluateVector() {
+        if (cols != 1) {
+            throw new IllegalStateException("Only a " + rows + "x1 expression can be evaluated as a vector.");
+        }
+        Plan plan = plan();
+        Value value = plan.evaluate();
+        if (value.dense != null && value.transposed) {
+            return value.owned ? value.dense[0] : value.dense[0].clone();
+        }
+        double[][] dense = value.sparse != null
+                ? (value.transposed ? transposedDense(value.sparse) : value.sparse.toDense())
+                : value.dense;
+        double[] result = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            result[i] = dense[i][0];
+        }
+        return result;
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix evaluateCSR() {
+        Plan plan = plan();
+        Value value = plan.evaluate();
+        if (value.sparse == null) {
+            return new CSRMatrixMultiplication.CSRMatrix(value.transposed ? transposed(value.dense) : value.dense);
+        }
+        return value.transposed ? value.sparse.toCSC().transpose() : value.sparse;
+    }
+
+    public String explain() {
+        return plan().explain();
+    }
+
+    public double getEstimatedCost() {
+        Plan plan = plan();
+        return plan.cost[0][plan.factors.size() - 1];
+    }
+
+    private Plan plan() {
+        List<Factor> factors = new ArrayList<>();
+        double scalar = collect(false, factors);
+        return new Plan(factors, scalar);
+    }
+
+    private static double[][] copy(double[][] matrix) {
+        double[][] result = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = matrix[i].clone();
+        }
+        return result;
+    }
+
+    private static double[][] transposed(double[][] matrix) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        double[][] result = new double[cols][matrix.length];
+        for (int i0 = 0; i0 < matrix.length; i0 += 64) {
+            int i1 = Math.min(i0 + 64, matrix.length);
+            for (int j = 0; j < cols; j++) {
+                double[] resultRow = result[j];
+                for (int i = i0; i < i1; i++) {
+                    resultRow[i] = matrix[i][j];
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double[][] transposedDense(CSRMatrixMultiplication.CSRMatrix matrix) {
+        double[][] dense = new double[matrix.getCols()][matrix.getRows()];
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columnIndices = matrix.getColumnIndices();
+        double[] values = matrix.getValues();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                dense[columnIndices[p]][i] = values[p];
+            }
+        }
+        return dense;
+    }
+
+    private static final class Leaf extends MatrixExpression {
+        private final double[][] dense;
+        private final CSRMatrixMultiplication.CSRMatrix sparse;
+
+        Leaf(double[][] dense, CSRMatrixMultiplication.CSRMatrix sparse, int rows, int cols) {
+            super(rows, cols);
+            this.dense = dense;
+            this.sparse = sparse;
+        }
+
+        @Override
+        double collect(boolean transposed, List<Factor> factors) {
+            factors.add(new Factor(this, transposed));
+            return 1.0;
+        }
+
+        long nonZeros() {
+            return sparse != null ? sparse.getNonZeroCount() : (long) getRows() * getCols();
+        }
+    }
+
+    private static final class Product extends MatrixExpression {
+        private final MatrixExpression left;
+        private final MatrixExpression right;
+
+        Product(MatrixExpression left, MatrixExpression right) {
+            super(left.getRows(), right.getCols());
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double collect(boolean transposed, List<Factor> factors) {
+            if (transposed) {
+                return right.collect(true, factors) * left.collect(true, factors);
+            }
+            return left.collect(false, factors) * right.collect(false, factors);
+        }
+    }
+
+    private static final class Transpose extends MatrixExpression {
+        private final MatrixExpression child;
+
+        Transpose(MatrixExpression child) {
+            super(child.getCols(), child.getRows());
+            this.child = child;
+        }
+
+        @Override
+        double collect(boolean transposed, List<Factor> factors) {
+            return child.collect(!transposed, factors);
+        }
+    }
+
+    private static final class Scale extends MatrixExpression {
+        private final MatrixExpression child;
+        private final double factor;
+
+        Scale(MatrixExpression child, double factor) {
+            super(child.getRows(), child.getCols());
+            this.child = child;
+            this.factor = factor;
+        }
+
+        @Override
+        double collect(boolean transposed, List<Factor> factors) {
+            return factor * child.collect(transposed, factors);
+        }
+    }
+
+    private static final class Factor {
+        private final Leaf leaf;
+        private final boolean transposed;
+
+        Factor(Leaf leaf, boolean transposed) {
+            this.leaf = leaf;
+            this.transposed = transposed;
+        }
+
+        int rows() {
+            return transposed ? leaf.getCols() : leaf.getRows();
+        }
+
+        int cols() {
+            return transposed ? leaf.getRows() : leaf.getCols();
+        }
+    }
+
+    private static final class Value {
+        private final double[][] dense;
+        private final CSRMatrixMultiplication.CSRMatrix sparse;
+        private final boolean transposed;
+        private final boolean owned;
+
+        Value(double[][] dense, CSRMatrixMultiplication.CSRMatrix sparse, boolean transposed, boolean owned) {
+            this.dense = dense;
+            this.sparse = sparse;
+            this.transposed = transposed;
+            this.owned = owned;
+        }
+
+        static Value dense(double[][] dense, boolean transposed) {
+            return new Value(dense, null, transposed, true);
+        }
+    }
+
+    private static final class Plan {
+        private final List<Factor> factors;
+        private final double scalar;
+        private final int[] dims;
+        private final boolean[][] sparse;
+        private final double[][] density;
+        private final double[][] cost;
+        private final int[][] split;
+        private final String[] ids;
+        private final Map<String, Value> memo = new HashMap<>();
+
+        Plan(List<Factor> factors, double scalar) {
+            this.factors = factors;
+            this.scalar = scalar;
+            int n = factors.size();
+            dims = new int[n + 1];
+            sparse = new boolean[n][n];
+            density = new double[n][n];
+            cost = new double[n][n];
+            split = new int[n][n];
+            ids = new String[n];
+            Map<Leaf, Integer> leafIds = new IdentityHashMap<>();
+            for (int i = 0; i < n; i++) {
+                Factor factor = factors.get(i);
+                dims[i] = factor.rows();
+                dims[i + 1] = factor.cols();
+                sparse[i][i] = factor.leaf.sparse != null;
+                long elements = (long) factor.rows() * factor.cols();
+                density[i][i] = elements == 0 ? 0.0 : (double) factor.leaf.nonZeros() / elements;
+                Integer id = leafIds.computeIfAbsent(factor.leaf, leaf -> leafIds.size());
+                ids[i] = id + (factor.transposed ? "T" : "N");
+            }
+            order();
+        }
+
+        private void order() {
+            int n = factors.size();
+            for (int length = 2; length <= n; length++) {
+                for (int i = 0; i + length - 1 < n; i++) {
+                    int j = i + length - 1;
+                    cost[i][j] = Double.POSITIVE_INFINITY;
+                    for (int s = i; s < j; s++) {
+                        double total = cost[i][s] + cost[s + 1][j] + stepCost(i, s, j);
+                        if (total < cost[i][j]) {
+                            cost[i][j] = total;
+                            split[i][j] = s;
+                        }
+                    }
+                    int s = split[i][j];
+                    sparse[i][j] = sparse[i][s] && sparse[s + 1][j];
+                    double product = density[i][s] * density[s + 1][j];
+                    density[i][j] = sparse[i][j] ? 1.0 - Math.pow(1.0 - product, dims[s + 1]) : 1.0;
+                }
+            }
+        }
+
+        private double stepCost(int i, int s, int j) {
+            double p = dims[i];
+            double q = dims[s + 1];
+            double r = dims[j + 1];
+            double leftNonZeros = density[i][s] * p * q;
+            double rightNonZeros = density[s + 1][j] * q * r;
+            if (sparse[i][s] && sparse[s + 1][j]) {
+                return 2.0 * leftNonZeros * density[s + 1][j] * r + p + r;
+            }
+            if (sparse[i][s]) {
+                return 2.0 * leftNonZeros * r;
+            }
+            if (sparse[s + 1][j]) {
+                return 2.0 * rightNonZeros * p + TRANSPOSE_COST_PER_ELEMENT * p * q;
+            }
+            return 2.0 * p * q * r;
+        }
+
+        Value evaluate() {
+            int n = factors.size();
+            if (n == 0) {
+                throw new IllegalStateException("An expression must contain at least one matrix.");
+            }
+            return evaluate(0, n - 1, scalar);
+        }
+
+        private Value evaluate(int i, int j, double alpha) {
+            if (i == j) {
+                Factor factor = factors.get(i);
+                Value leaf = new Value(factor.leaf.dense, factor.leaf.sparse, factor.transposed, false);
+                return alpha == 1.0 ? leaf : scaled(leaf, alpha);
+            }
+            String key = null;
+            if (alpha == 1.0) {
+                key = String.join(",", Arrays.asList(ids).subList(i, j + 1));
+                Value cached = memo.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            int s = split[i][j];
+            Value result = multiply(evaluate(i, s, 1.0), evaluate(s + 1, j, 1.0), alpha);
+            if (key != null) {
+                memo.put(key, new Value(result.dense, result.sparse, result.transposed, false));
+            }
+            return result;
+        }
+
+        private static Value scaled(Value value, double alpha) {
+            if (value.sparse != null) {
+                CSRMatrixMultiplication.CSRMatrix matrix = value.sparse;
+                double[] values = matrix.getValues().clone();
+                for (int p = 0; p < values.length; p++) {
+                    values[p] *= alpha;
+                }
+                return new Value(null, new CSRMatrixMultiplication.CSRMatrix(matrix.getRows(), matrix.getCols(), values,
+                        matrix.getColumnIndices(), matrix.getRowPointers()), value.transposed, true);
+            }
+            double[][] dense = value.owned ? value.dense : copy(value.dense);
+            DenseMatrix.scale(dense, alpha);
+            return Value.dense(dense, value.transposed);
+        }
+
+        private static Value multiply(Value x, Value y, double alpha) {
+            if (x.sparse != null && y.sparse != null) {
+                CSRMatrixMultiplication.CSRMatrix left = x.transposed ? x.sparse.toCSC().transpose() : x.sparse;
+                CSRMatrixMultiplication.CSRMatrix right = y.transposed ? y.sparse.toCSC().transpose() : y.sparse;
+                Value product = new Value(null, left.multiply(right), false, true);
+                return alpha == 1.0 ? product : scaled(product, alpha);
+            }
+            if (x.sparse != null) {
+                return sparseTimesDense(x.sparse, x.transposed, y, alpha, false);
+            }
+            if (y.sparse != null) {
+                Value xT = new Value(x.dense, null, !x.transposed, x.owned);
+                return sparseTimesDense(y.sparse, !y.transposed, xT, alpha, true);
+            }
+            int q = x.transposed ? x.dense.length : (x.dense.length == 0 ? 0 : x.dense[0].length);
+            if (y.transposed && y.dense.length == 1) {
+                int p = x.transposed ? (q == 0 ? 0 : x.dense[0].length) : x.dense.length;
+                double[][] result = new double[1][p];
+                TransposedMatrixMultiplication.multiplyInto(result, y.dense, false, x.dense, !x.transposed, alpha, 0.0);
+                return Value.dense(result, true);
+            }
+            int p = x.transposed ? (q == 0 ? 0 : x.dense[0].length) : x.dense.length;
+            int r = y.transposed ? y.dense.length : (y.dense.length == 0 ? 0 : y.dense[0].length);
+            double[][] result = new double[p][r];
+            if (!x.transposed && !y.transposed) {
+                ParallelMatrixMultiplication.multiplyInto(result, x.dense, y.dense, alpha, 0.0);
+            } else {
+                TransposedMatrixMultiplication.multiplyInto(result, x.dense, x.transposed, y.dense, y.transposed, alpha, 0.0);
+            }
+            return Value.dense(result, false);
+        }
+
+        private static Value sparseTimesDense(CSRMatrixMultiplication.CSRMatrix matrix, boolean transposed, Value y,
+                                              double alpha, boolean transposeResult) {
+            int rows = transposed ? matrix.getCols() : matrix.getRows();
+            if (y.transposed && y.dense.length == 1) {
+                double[] result = new double[rows];
+                if (transposed) {
+                    matrix.transpose().multiplyInto(result, y.dense[0], alpha, 0.0);
+                } else {
+                    matrix.multiplyInto(result, y.dense[0], alpha, 0.0);
+                }
+                return Value.dense(new double[][]{result}, !transposeResult);
+            }
+            if (!y.transposed && y.dense.length > 0 && y.dense[0].length == 1 && transposeResult) {
+                double[] vector = new double[y.dense.length];
+                for (int k = 0; k < vector.length; k++) {
+                    vector[k] = y.dense[k][0];
+                }
+                return sparseTimesDense(matrix, transposed, Value.dense(new double[][]{vector}, true), alpha, true);
+            }
+            double[][] right = y.transposed ? transposed(y.dense) : y.dense;
+            int cols = right.length == 0 ? 0 : right[0].length;
+            double[][] result = new double[rows][cols];
+            if (transposed) {
+                matrix.transpose().multiplyInto(result, right, alpha, 0.0);
+            } else {
+                matrix.multiplyInto(result, right, alpha, 0.0);
+            }
+            return Value.dense(result, transposeResult);
+        }
+
+        String explain() {
+            String body = explain(0, factors.size() - 1);
+            return scalar == 1.0 ? body : scalar + " * " + body;
+        }
+
+        private String explain(int i, int j) {
+            if (i == j) {
+                Factor factor = factors.get(i);
+                String name = (factor.leaf.sparse != null ? "S" : "D") + ids[i].substring(0, ids[i].length() - 1)
+                        + "[" + factor.rows() + "x" + factor.cols() + "]";
+                return factor.transposed ? name + "'" : name;
+            }
+            int s = split[i][j];
+            return "(" + explain(i, s) + " * " + explain(s + 1, j) + ")";
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example;
+
+public final class MatrixFingerprint {
+    private static final long ROW_SEED = 0x9E3779B97F4A7C15L;
+    private static final long COLUMN_STEP = 0xC2B2AE3D27D4EB4FL;
+    private static final long VALUE_SEED = 0x27D4EB2F165667C5L;
+    private static final long HIGH_ROW_SEED = 0x85EBCA77C2B2AE63L;
+    private static final long HIGH_VALUE_SEED = 0x165667B19E3779F9L;
+
+    private final int rows;
+    private final int cols;
+    private final long low;
+    private final long high;
+
+    private MatrixFingerprint(int rows, int cols, long low, long high) {
+        this.rows = rows;
+        this.cols = cols;
+        this.low = low;
+        this.high = high;
+    }
+
+    public static MatrixFingerprint of(double[][] matrix) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < matrix.length; i++) {
+            double[] row = matrix[i];
+            if (row.length != cols) {
+                throw new IllegalArgumentException("All rows must have the same number of columns.");
+            }
+            long rowLow = rowHash(i);
+            long rowHigh = highRowHash(i);
+            for (int j = 0; j < cols; j++) {
+                if (row[j] != 0.0) {
+                    low += entry(rowLow, j, row[j]);
+                    high += highEntry(rowHigh, j, row[j]);
+                }
+            }
+        }
+        return new MatrixFingerprint(matrix.length, cols, low, high);
+    }
+
+    public static MatrixFingerprint of(DenseMatrix matrix) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            long rowLow = rowHash(i);
+            long rowHigh = highRowHash(i);
+            for (int j = 0; j < matrix.getCols(); j++) {
+                double value = matrix.get(i, j);
+                if (value != 0.0) {
+                    low += entry(rowLow, j, value);
+                    high += highEntry(rowHigh, j, value);
+                }
+            }
+        }
+        return new MatrixFingerprint(matrix.getRows(), matrix.getCols(), low, high);
+    }
+
+    public static MatrixFingerprint of(CSRMatrixMultiplication.CSRMatrix matrix) {
+        return matrix.getFingerprint();
+    }
+
+    static MatrixFingerprint compute(CSRMatrixMultiplication.CSRMatrix matrix) {
+        double[] values = matrix.getValues();
+        int[] columnIndices = matrix.getColumnIndices();
+        int[] rowPointers = matrix.getRowPointers();
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            long rowLow = rowHash(i);
+            long rowHigh = highRowHash(i);
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                if (values[p] != 0.0) {
+                    low += entry(rowLow, columnIndices[p], values[p]);
+                    high += highEntry(rowHigh, columnIndices[p], values[p]);
+                }
+            }
+        }
+        return new MatrixFingerprint(matrix.getRows(), matrix.getCols(), low, high);
+    }
+
+    public MatrixFingerprint update(int row, int col, double oldValue, double newValue) {
+        if (oldValue == newValue) {
+            return this;
+        }
+        long low = this.low;
+        long high = this.high;
+        long rowLow = rowHash(row);
+        long rowHigh = highRowHash(row);
+        if (oldValue != 0.0) {
+            low -= entry(rowLow, col, oldValue);
+            high -= highEntry(rowHigh, col, oldValue);
+        }
+        if (newValue != 0.0) {
+            low += entry(rowLow, col, newValue);
+            high += highEntry(rowHigh, col, newValue);
+        }
+        return new MatrixFingerprint(rows, cols, low, high);
+    }
+
+    private static long rowHash(int row) {
+        return mix(row + ROW_SEED);
+    }
+
+    private static long highRowHash(int row) {
+        return highMix(row + HIGH_ROW_SEED);
+    }
+
+    private static long entry(long rowHash, int col, double value) {
+        long bits = Double.doubleToLongBits(value + 0.0);
+        return mix(mix(rowHash + col * COLUMN_STEP) ^ mix(bits + VALUE_SEED));
+    }
+
+    private static long highEntry(long rowHash, int col, double value) {
+        long bits = Double.doubleToLongBits(value + 0.0);
+        return highMix(highMix(rowHash + col * COLUMN_STEP) ^ highMix(bits + HIGH_VALUE_SEED));
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long highMix(long h) {
+        h ^= h >>> 30;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 27;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return h;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof MatrixFingerprint)) {
+            return false;
+        }
+        MatrixFingerprint that = (MatrixFingerprint) other;
+        return rows == that.rows && cols == that.cols && low == that.low && high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32)) * 31 + rows * 17 + cols;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d:%016x%016x", rows, cols, high, low);
+    }
+}
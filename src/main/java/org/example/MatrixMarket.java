@@ -0,0 +1,553 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class MatrixMarket {
+    private static final String BANNER = "%%MatrixMarket";
+    private static final int MIN_RANGE_BYTES = 1 << 20;
+    private static final int MAX_RANGE_BYTES = 1 << 28;
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int MAX_MANTISSA_DIGITS = 19;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long[] POWER_HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+    private static final long[] POWER_LOW = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+
+    static {
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger power = BigInteger.valueOf(5).pow(Math.abs(q));
+            BigInteger mantissa;
+            if (q < 0) {
+                int z = power.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                mantissa = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+            } else {
+                mantissa = power;
+            }
+            int shift = mantissa.bitLength() - 128;
+            mantissa = shift > 0 ? mantissa.shiftRight(shift) : mantissa.shiftLeft(-shift);
+            POWER_HIGH[q - MIN_EXPONENT] = mantissa.shiftRight(64).longValue();
+            POWER_LOW[q - MIN_EXPONENT] = mantissa.and(mask).longValue();
+        }
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix readCSR(Path path) throws IOException {
+        return readCSR(path, ForkJoinPool.commonPool());
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix readCSR(Path path, ForkJoinPool pool) throws IOException {
+        Entries entries = read(path, pool);
+        return CoordinateMatrixBuilder.toCSR(entries.rows, entries.cols, entries.rowIndices, entries.colIndices, entries.values, entries.size);
+    }
+
+    public static CSCMatrixMultiplication readCSC(Path path) throws IOException {
+        return readCSC(path, ForkJoinPool.commonPool());
+    }
+
+    public static CSCMatrixMultiplication readCSC(Path path, ForkJoinPool pool) throws IOException {
+        Entries entries = read(path, pool);
+        return CoordinateMatrixBuilder.toCSC(entries.rows, entries.cols, entries.rowIndices, entries.colIndices, entries.values, entries.size);
+    }
+
+    public static void write(Path path, CSRMatrixMultiplication.CSRMatrix matrix) throws IOException {
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columnIndices = matrix.getColumnIndices();
+        double[] values = matrix.getValues();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writeHeader(writer, matrix.getRows(), matrix.getCols(), matrix.getNonZeroCount());
+            for (int i = 0; i < matrix.getRows(); i++) {
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    writeEntry(writer, i, columnIndices[p], values[p]);
+                }
+            }
+        }
+    }
+
+    public static void write(Path path, CSCMatrixMultiplication matrix) throws IOException {
+        int[] colPointers = matrix.getColPointers();
+        int[] rowIndices = matrix.getRowIndices();
+        double[] values = matrix.getValues();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writeHeader(writer, matrix.getRowCount(), matrix.getColCount(), colPointers[matrix.getColCount()]);
+            for (int j = 0; j < matrix.getColCount(); j++) {
+                for (int p = colPointers[j]; p < colPointers[j + 1]; p++) {
+                    writeEntry(writer, rowIndices[p], j, values[p]);
+                }
+            }
+        }
+    }
+
+    private static void writeHeader(Writer writer, int rows, int cols, int nonZeroCount) throws IOException {
+        writer.write(BANNER + " matrix coordinate real general\n");
+        writer.write(rows + " " + cols + " " + nonZeroCount + "\n");
+    }
+
+    private static void writeEntry(Writer writer, int row, int col, double value) throws IOException {
+        writer.write(Integer.toString(row + 1));
+        writer.write(' ');
+        writer.write(Integer.toString(col + 1));
+        writer.write(' ');
+        writer.write(Double.toString(value));
+        writer.write('\n');
+    }
+
+    private static Entries read(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(path);
+            long size = channel.size();
+            long bodyBytes = Math.max(0, size - header.bodyOffset);
+            long parts = Math.min((long) pool.getParallelism() * RANGES_PER_THREAD, (bodyBytes + MIN_RANGE_BYTES - 1) / MIN_RANGE_BYTES);
+            parts = Math.max(Math.max(parts, 1), (bodyBytes + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+            long[] boundaries = new long[(int) parts + 1];
+            boundaries[0] = Math.min(header.bodyOffset, size);
+            for (int p = 1; p < parts; p++) {
+                long target = Math.max(boundaries[p - 1], header.bodyOffset + bodyBytes * p / parts);
+                boundaries[p] = alignToLine(channel, target, size);
+            }
+            boundaries[(int) parts] = size;
+
+            List<Parser> parsers = new ArrayList<>();
+            for (int p = 0; p < parts; p++) {
+                long length = boundaries[p + 1] - boundaries[p];
+                if (length > 0) {
+                    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, boundaries[p], length);
+                    int capacity = (int) Math.min(Integer.MAX_VALUE - 8, header.nonZeroCount * length / Math.max(bodyBytes, 1) + 16);
+                    parsers.add(new Parser(header, buffer, boundaries[p], capacity));
+                }
+            }
+            List<Future<Parser>> results = parsers.size() == 1 ? null : pool.invokeAll(parsers);
+            long entryCount = 0;
+            long total = 0;
+            for (int p = 0; p < parsers.size(); p++) {
+                Parser parser = results == null ? parsers.get(p).call() : await(results.get(p));
+                entryCount += parser.entryCount;
+                total += parser.size;
+            }
+            if (entryCount != header.nonZeroCount) {
+                throw new IOException("The file declares " + header.nonZeroCount + " entries but contains " + entryCount + ".");
+            }
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IOException("A matrix with " + total + " entries does not fit in a single array.");
+            }
+            int[] rowIndices = new int[(int) total];
+            int[] colIndices = new int[(int) total];
+            double[] values = new double[(int) total];
+            int offset = 0;
+            for (Parser parser : parsers) {
+                System.arraycopy(parser.rowIndices, 0, rowIndices, offset, parser.size);
+                System.arraycopy(parser.colIndices, 0, colIndices, offset, parser.size);
+                System.arraycopy(parser.values, 0, values, offset, parser.size);
+                offset += parser.size;
+            }
+            return new Entries(header.rows, header.cols, rowIndices, colIndices, values, offset);
+        }
+    }
+
+    private static Parser await(Future<Parser> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing the matrix file.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static long alignToLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static Header readHeader(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            long offset = 0;
+            StringBuilder line = new StringBuilder();
+            String banner = null;
+            while (true) {
+                line.setLength(0);
+                int c;
+                while ((c = in.read()) != -1 && c != '\n') {
+                    offset++;
+                    line.append((char) c);
+                }
+                if (c == -1 && line.length() == 0) {
+                    throw new IOException("The file ends before the Matrix Market size line.");
+                }
+                offset++;
+                String text = line.toString().trim();
+                if (banner == null) {
+                    banner = text;
+                    continue;
+                }
+                if (text.isEmpty() || text.startsWith("%")) {
+                    continue;
+                }
+                return parseHeader(banner, text, offset);
+            }
+        }
+    }
+
+    private static Header parseHeader(String banner, String sizeLine, long bodyOffset) throws IOException {
+        String[] tokens = banner.toLowerCase(Locale.ROOT).split("\\s+");
+        if (tokens.length != 5 || !tokens[0].equals(BANNER.toLowerCase(Locale.ROOT)) || !tokens[1].equals("matrix")) {
+            throw new IOException("Missing or malformed Matrix Market banner: " + banner);
+        }
+        if (!tokens[2].equals("coordinate")) {
+            throw new IOException("Only the coordinate Matrix Market format is supported, found " + tokens[2] + ".");
+        }
+        boolean pattern = tokens[3].equals("pattern");
+        if (!pattern && !tokens[3].equals("real") && !tokens[3].equals("integer")) {
+            throw new IOException("Unsupported Matrix Market field " + tokens[3] + ".");
+        }
+        int symmetry = switch (tokens[4]) {
+            case "general" -> 0;
+            case "symmetric" -> 1;
+            case "skew-symmetric" -> -1;
+            default -> throw new IOException("Unsupported Matrix Market symmetry " + tokens[4] + ".");
+        };
+        String[] size = sizeLine.split("\\s+");
+        if (size.length != 3) {
+            throw new IOException("Malformed Matrix Market size line: " + sizeLine);
+        }
+        try {
+            int rows = Integer.parseInt(size[0]);
+            int cols = Integer.parseInt(size[1]);
+            long nonZeroCount = Long.parseLong(size[2]);
+            if (rows < 0 || cols < 0 || nonZeroCount < 0) {
+                throw new IOException("Malformed Matrix Market size line: " + sizeLine);
+            }
+            return new Header(rows, cols, nonZeroCount, pattern, symmetry, bodyOffset);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed Matrix Market size line: " + sizeLine, e);
+        }
+    }
+
+    static double parseDouble(long mantissa, int exponent, boolean negative) {
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (Long.compareUnsigned(mantissa, MAX_EXACT_MANTISSA) <= 0 && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / EXACT_POWERS_OF_TEN[-exponent] : mantissa * EXACT_POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        if (exponent < MIN_EXPONENT) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        long normalized = mantissa << leadingZeros;
+        long exponent2 = (((217706L * exponent) >> 16) + 64 + 1023) - leadingZeros;
+        long high = POWER_HIGH[exponent - MIN_EXPONENT];
+        long productLow = normalized * high;
+        long productHigh = Math.unsignedMultiplyHigh(normalized, high);
+        if ((productHigh & 0x1FF) == 0x1FF && Long.compareUnsigned(productLow + normalized, normalized) < 0) {
+            long low = POWER_LOW[exponent - MIN_EXPONENT];
+            long lowLow = normalized * low;
+            long lowHigh = Math.unsignedMultiplyHigh(normalized, low);
+            long mergedHigh = productHigh;
+            long mergedLow = productLow + lowHigh;
+            if (Long.compareUnsigned(mergedLow, productLow) < 0) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0 && Long.compareUnsigned(lowLow + normalized, normalized) < 0) {
+                return Double.NaN;
+            }
+            productHigh = mergedHigh;
+            productLow = mergedLow;
+        }
+        long msb = productHigh >>> 63;
+        long result = productHigh >>> (msb + 9);
+        exponent2 -= 1 ^ msb;
+        if (productLow == 0 && (productHigh & 0x1FF) == 0 && (result & 3) == 1) {
+            return Double.NaN;
+        }
+        result += result & 1;
+        result >>>= 1;
+        if (result >>> 53 > 0) {
+            result >>>= 1;
+            exponent2++;
+        }
+        if (exponent2 <= 0 || exponent2 >= 0x7FF) {
+            return Double.NaN;
+        }
+        long bits = exponent2 << 52 | result & 0x000FFFFFFFFFFFFFL;
+        if (negative) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static class Header {
+        private final int rows;
+        private final int cols;
+        private final long nonZeroCount;
+        private final boolean pattern;
+        private final int symmetry;
+        private final long bodyOffset;
+
+        Header(int rows, int cols, long nonZeroCount, boolean pattern, int symmetry, long bodyOffset) {
+            this.rows = rows;
+            this.cols = cols;
+            this.nonZeroCount = nonZeroCount;
+            this.pattern = pattern;
+            this.symmetry = symmetry;
+            this.bodyOffset = bodyOffset;
+        }
+    }
+
+    private static class Entries {
+        private final int rows;
+        private final int cols;
+        private final int[] rowIndices;
+        private final int[] colIndices;
+        private final double[] values;
+        private final int size;
+
+        Entries(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values, int size) {
+            this.rows = rows;
+            this.cols = cols;
+            this.rowIndices = rowIndices;
+            this.colIndices = colIndices;
+            this.values = values;
+            this.size = size;
+        }
+    }
+
+    private static class Parser implements Callable<Parser> {
+        private final Header header;
+        private final ByteBuffer buffer;
+        private final long baseOffset;
+        private int position;
+        private int[] rowIndices;
+        private int[] colIndices;
+        private double[] values;
+        private int size;
+        private long entryCount;
+
+        Parser(Header header, ByteBuffer buffer, long baseOffset, int capacity) {
+            this.header = header;
+            this.buffer = buffer;
+            this.baseOffset = baseOffset;
+            this.rowIndices = new int[capacity];
+            this.colIndices = new int[capacity];
+            this.values = new double[capacity];
+        }
+
+        @Override
+        public Parser call() throws IOException {
+            int limit = buffer.limit();
+            while (position < limit) {
+                byte c = buffer.get(position);
+                if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                    position++;
+                    continue;
+                }
+                if (c == '%') {
+                    skipLine(limit);
+                    continue;
+                }
+                int row = nextInt(limit) - 1;
+                int col = nextInt(limit) - 1;
+                if (row < 0 || row >= header.rows || col < 0 || col >= header.cols) {
+                    throw new IOException("Entry (" + (row + 1) + ", " + (col + 1) + ") at byte " + (baseOffset + position)
+                            + " is outside a " + header.rows + "x" + header.cols + " matrix.");
+                }
+                double value = header.pattern ? 1.0 : nextDouble(limit);
+                skipLine(limit);
+                entryCount++;
+                add(row, col, value);
+                if (header.symmetry != 0 && row != col) {
+                    add(col, row, header.symmetry * value);
+                }
+            }
+            return this;
+        }
+
+        private void add(int row, int col, double value) {
+            if (size == values.length) {
+                int capacity = values.length + (values.length >> 1) + 1;
+                rowIndices = Arrays.copyOf(rowIndices, capacity);
+                colIndices = Arrays.copyOf(colIndices, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            rowIndices[size] = row;
+            colIndices[size] = col;
+            values[size] = value;
+            size++;
+        }
+
+        private void skipLine(int limit) {
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+        }
+
+        private void skipBlanks(int limit) {
+            while (position < limit) {
+                byte c = buffer.get(position);
+                if (c != ' ' && c != '\t') {
+                    break;
+                }
+                position++;
+            }
+        }
+
+        private int nextInt(int limit) throws IOException {
+            skipBlanks(limit);
+            int start = position;
+            long value = 0;
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE) {
+                    throw malformed(start);
+                }
+                position++;
+            }
+            if (position == start) {
+                throw malformed(start);
+            }
+            return (int) value;
+        }
+
+        private double nextDouble(int limit) throws IOException {
+            skipBlanks(limit);
+            int start = position;
+            boolean negative = false;
+            if (position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+                negative = buffer.get(position) == '-';
+                position++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean seenDigit = false;
+            boolean seenPoint = false;
+            while (position < limit) {
+                byte c = buffer.get(position);
+                if (c >= '0' && c <= '9') {
+                    seenDigit = true;
+                    if (mantissa != 0 || c != '0') {
+                        if (digits < MAX_MANTISSA_DIGITS) {
+                            mantissa = mantissa * 10 + (c - '0');
+                            digits++;
+                            if (seenPoint) {
+                                exponent--;
+                            }
+                        } else {
+                            return fallback(start, limit);
+                        }
+                    } else if (seenPoint) {
+                        exponent--;
+                    }
+                } else if (c == '.' && !seenPoint) {
+                    seenPoint = true;
+                } else {
+                    break;
+                }
+                position++;
+            }
+            if (!seenDigit) {
+                return fallback(start, limit);
+            }
+            if (position < limit && (buffer.get(position) == 'e' || buffer.get(position) == 'E'
+                    || buffer.get(position) == 'd' || buffer.get(position) == 'D')) {
+                position++;
+                boolean negativeExponent = false;
+                if (position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+                    negativeExponent = buffer.get(position) == '-';
+                    position++;
+                }
+                int exponentStart = position;
+                int value = 0;
+                while (position < limit) {
+                    int digit = buffer.get(position) - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    if (value < 100000) {
+                        value = value * 10 + digit;
+                    }
+                    position++;
+                }
+                if (position == exponentStart) {
+                    throw malformed(start);
+                }
+                exponent += negativeExponent ? -value : value;
+            }
+            double value = parseDouble(mantissa, exponent, negative);
+            return Double.isNaN(value) ? fallback(start, limit) : value;
+        }
+
+        private double fallback(int start, int limit) throws IOException {
+            position = start;
+            while (position < limit) {
+                byte c = buffer.get(position);
+                if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                    break;
+                }
+                position++;
+            }
+            byte[] token = new byte[position - start];
+            buffer.get(start, token);
+            try {
+                return Double.parseDouble(new String(token, StandardCharsets.US_ASCII).replace('d', 'e').replace('D', 'e'));
+            } catch (NumberFormatException e) {
+                throw malformed(start);
+            }
+        }
+
+        private IOException malformed(int start) {
+            return new IOException("Malformed Matrix Market entry at byte " + (baseOffset + start) + ".");
+        }
+    }
+}
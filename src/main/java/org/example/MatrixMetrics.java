@@ -0,0 +1,279 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class MatrixMetrics {
+    public static final String ENABLED_PROPERTY = "matrix.metrics";
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final String DOMAIN = "org.example:type=MatrixMetrics,name=";
+
+    private static final ConcurrentHashMap<String, Kernel> kernels = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Exception> registrationFailures = new ConcurrentHashMap<>();
+    private static final com.sun.management.ThreadMXBean threads = allocationBean();
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Kernel kernel(String name) {
+        return kernels.computeIfAbsent(name, MatrixMetrics::create);
+    }
+
+    public static Map<String, Kernel> getKernels() {
+        return Collections.unmodifiableMap(new TreeMap<>(kernels));
+    }
+
+    public static Map<String, Exception> getRegistrationFailures() {
+        return Collections.unmodifiableMap(new TreeMap<>(registrationFailures));
+    }
+
+    public static void reset() {
+        for (Kernel kernel : kernels.values()) {
+            kernel.reset();
+        }
+    }
+
+    private static Kernel create(String name) {
+        Kernel kernel = new Kernel(name);
+        if (ENABLED) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName(DOMAIN + ObjectName.quote(name));
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(kernel, objectName);
+                }
+            } catch (InstanceAlreadyExistsException e) {
+                return kernel;
+            } catch (JMException | SecurityException e) {
+                registrationFailures.put(name, e);
+            }
+        }
+        return kernel;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (!ENABLED || !(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    private static long allocatedBytes() {
+        return threads == null ? 0 : Math.max(0, threads.getCurrentThreadAllocatedBytes());
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (bucket % SUB_BUCKETS) * width + width - 1;
+    }
+
+    public static final class Sample {
+        private final long startNanos;
+        private final long startBytes;
+        private final MatrixMultiplyEvent event;
+
+        private Sample(long startNanos, long startBytes, MatrixMultiplyEvent event) {
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+            this.event = event;
+        }
+    }
+
+    public static final class Kernel implements MatrixMetricsMXBean {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final DoubleAdder flops = new DoubleAdder();
+        private final LongAdder nonZeros = new LongAdder();
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+        private final LongAdder[] histogram;
+
+        private Kernel(String name) {
+            this.name = name;
+            this.histogram = new LongAdder[ENABLED ? BUCKETS : 0];
+            for (int b = 0; b < histogram.length; b++) {
+                histogram[b] = new LongAdder();
+            }
+        }
+
+        public Sample start() {
+            if (!ENABLED) {
+                return null;
+            }
+            MatrixMultiplyEvent event = new MatrixMultiplyEvent();
+            event.begin();
+            return new Sample(System.nanoTime(), allocatedBytes(), event);
+        }
+
+        public void stop(Sample sample, double operationCount, long nonZeroCount, long elementCount) {
+            if (!ENABLED || sample == null) {
+                return;
+            }
+            long nanos = System.nanoTime() - sample.startNanos;
+            long bytes = threads == null ? 0 : Math.max(0, allocatedBytes() - sample.startBytes);
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram[bucket(nanos)].increment();
+            flops.add(operationCount);
+            nonZeros.add(nonZeroCount);
+            elements.add(elementCount);
+            allocated.add(bytes);
+            MatrixMultiplyEvent event = sample.event;
+            event.end();
+            if (event.shouldCommit()) {
+                event.kernel = name;
+                event.flops = operationCount;
+                event.nonZeros = nonZeroCount;
+                event.density = elementCount == 0 ? 0.0 : (double) nonZeroCount / elementCount;
+                event.allocatedBytes = bytes;
+                event.commit();
+            }
+        }
+
+        private double percentileMicros(double percentile) {
+            long total = 0;
+            for (LongAdder count : histogram) {
+                total += count.sum();
+            }
+            if (total == 0) {
+                return 0.0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int b = 0; b < histogram.length; b++) {
+                seen += histogram[b].sum();
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(b), maxNanos.get()) / 1e3;
+                }
+            }
+            return maxNanos.get() / 1e3;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        @Override
+        public long getTotalTimeNanos() {
+            return totalNanos.sum();
+        }
+
+        @Override
+        public double getMeanTimeMicros() {
+            long count = calls.sum();
+            return count == 0 ? 0.0 : totalNanos.sum() / 1e3 / count;
+        }
+
+        @Override
+        public double getP50TimeMicros() {
+            return percentileMicros(0.50);
+        }
+
+        @Override
+        public double getP90TimeMicros() {
+            return percentileMicros(0.90);
+        }
+
+        @Override
+        public double getP99TimeMicros() {
+            return percentileMicros(0.99);
+        }
+
+        @Override
+        public double getMaxTimeMicros() {
+            return maxNanos.get() / 1e3;
+        }
+
+        @Override
+        public double getTotalFlops() {
+            return flops.sum();
+        }
+
+        @Override
+        public double getGflops() {
+            long nanos = totalNanos.sum();
+            return nanos == 0 ? 0.0 : flops.sum() / nanos;
+        }
+
+        @Override
+        public long getNonZeros() {
+            return nonZeros.sum();
+        }
+
+        @Override
+        public double getMeanDensity() {
+            long count = elements.sum();
+            return count == 0 ? 0.0 : (double) nonZeros.sum() / count;
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocated.sum();
+        }
+
+        @Override
+        public void reset() {
+            calls.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            flops.reset();
+            nonZeros.reset();
+            elements.reset();
+            allocated.reset();
+            for (LongAdder count : histogram) {
+                count.reset();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{calls=%d, mean=%.1fus, p50=%.1fus, p99=%.1fus, max=%.1fus, gflops=%.3f, density=%.4f, allocated=%d}",
+                    name, getCalls(), getMeanTimeMicros(), getP50TimeMicros(), getP99TimeMicros(), getMaxTimeMicros(),
+                    getGflops(), getMeanDensity(), getAllocatedBytes());
+        }
+    }
+}
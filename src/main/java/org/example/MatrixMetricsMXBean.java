@@ -0,0 +1,31 @@
+package org.example;
+
+public interface MatrixMetricsMXBean {
+    String getName();
+
+    long getCalls();
+
+    long getTotalTimeNanos();
+
+    double getMeanTimeMicros();
+
+    double getP50TimeMicros();
+
+    double getP90TimeMicros();
+
+    double getP99TimeMicros();
+
+    double getMaxTimeMicros();
+
+    double getTotalFlops();
+
+    double getGflops();
+
+    long getNonZeros();
+
+    double getMeanDensity();
+
+    long getAllocatedBytes();
+
+    void reset();
+}
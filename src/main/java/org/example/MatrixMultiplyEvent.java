@@ -0,0 +1,32 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.MatrixMultiply")
+@Label("Matrix Multiply")
+@Category("Matrix Multiplication")
+@Description("A single instrumented matrix multiplication kernel call")
+@StackTrace(false)
+final class MatrixMultiplyEvent extends Event {
+    @Label("Kernel")
+    String kernel;
+
+    @Label("Floating Point Operations")
+    double flops;
+
+    @Label("Non Zeros")
+    long nonZeros;
+
+    @Label("Density")
+    double density;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+public class MatrixProfile {
+    private final int rows;
+    private final int cols;
+    private final long nonZeroCount;
+    private final int maxRowNonZeros;
+
+    public MatrixProfile(int rows, int cols, long nonZeroCount, int maxRowNonZeros) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nonZeroCount = nonZeroCount;
+        this.maxRowNonZeros = maxRowNonZeros;
+    }
+
+    public static MatrixProfile of(double[][] matrix) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        long nonZeroCount = 0;
+        int maxRowNonZeros = 0;
+        for (double[] row : matrix) {
+            int rowNonZeros = 0;
+            for (double val : row) {
+                if (val != 0) rowNonZeros++;
+            }
+            nonZeroCount += rowNonZeros;
+            maxRowNonZeros = Math.max(maxRowNonZeros, rowNonZeros);
+        }
+        return new MatrixProfile(rows, cols, nonZeroCount, maxRowNonZeros);
+    }
+
+    public static MatrixProfile of(CSRMatrixMultiplication.CSRMatrix matrix) {
+        int[] rowPointers = matrix.getRowPointers();
+        int maxRowNonZeros = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            maxRowNonZeros = Math.max(maxRowNonZeros, rowPointers[i + 1] - rowPointers[i]);
+        }
+        return new MatrixProfile(matrix.getRows(), matrix.getCols(), matrix.getNonZeroCount(), maxRowNonZeros);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    public int getMaxRowNonZeros() {
+        return maxRowNonZeros;
+    }
+
+    public double getDensity() {
+        long cells = (long) rows * cols;
+        return cells == 0 ? 0.0 : (double) nonZeroCount / cells;
+    }
+
+    public double getRowSkew() {
+        double average = rows == 0 ? 0.0 : (double) nonZeroCount / rows;
+        return average == 0.0 ? 1.0 : maxRowNonZeros / average;
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixProfile{rows=" + rows + ", cols=" + cols + ", nnz=" + nonZeroCount
+                + ", density=" + getDensity() + ", rowSkew=" + getRowSkew() + "}";
+    }
+}
@@ -0,0 +1,235 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class MatrixStore {
+    static final int MAGIC = 0x4258534D;
+    static final int VERSION = 1;
+    static final int DENSE = 0;
+    static final int CSR = 1;
+    static final int CSC = 2;
+    static final int HEADER_BYTES = 64;
+
+    public static void write(Path path, double[][] matrix) throws IOException {
+        write(path, new DenseMatrix(matrix));
+    }
+
+    public static void write(Path path, DenseMatrix matrix) throws IOException {
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+        long count = (long) rows * cols;
+        try (FileChannel channel = create(path)) {
+            writeHeader(channel, DENSE, rows, cols, count);
+            ChunkedBuffer values = ChunkedBuffer.map(channel, FileChannel.MapMode.READ_WRITE, HEADER_BYTES, count * Double.BYTES);
+            double[] data = matrix.getData();
+            long index = 0;
+            for (int i = 0; i < rows; i++) {
+                int row = matrix.getOffset() + i * matrix.getStride();
+                for (int j = 0; j < cols; j++) {
+                    values.putDouble(index++, data[row + j]);
+                }
+            }
+            values.force();
+        }
+    }
+
+    public static void write(Path path, CSRMatrixMultiplication.CSRMatrix matrix) throws IOException {
+        writeSparse(path, CSR, matrix.getRows(), matrix.getCols(), matrix.getRowPointers(), matrix.getColumnIndices(), matrix.getValues());
+    }
+
+    public static void write(Path path, CSCMatrixMultiplication matrix) throws IOException {
+        writeSparse(path, CSC, matrix.getRowCount(), matrix.getColCount(), matrix.getColPointers(), matrix.getRowIndices(), matrix.getValues());
+    }
+
+    private static void writeSparse(Path path, int format, int rows, int cols, int[] pointers, int[] indices, double[] values) throws IOException {
+        int major = format == CSR ? rows : cols;
+        int nonZeroCount = pointers[major];
+        try (CSRWriter writer = new CSRWriter(path, format, rows, cols, nonZeroCount)) {
+            for (int i = 0; i < major; i++) {
+                writer.append(indices, values, pointers[i], pointers[i + 1] - pointers[i]);
+            }
+        }
+    }
+
+    public static CSRWriter createCSR(Path path, int rows, int cols, long nonZeroCount) throws IOException {
+        return new CSRWriter(path, CSR, rows, cols, nonZeroCount);
+    }
+
+    public static MappedDenseMatrix openDense(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, DENSE);
+            long count = header.rows * header.cols;
+            checkSize(channel, HEADER_BYTES + count * Double.BYTES);
+            ChunkedBuffer values = ChunkedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count * Double.BYTES);
+            return new MappedDenseMatrix((int) header.rows, (int) header.cols, values);
+        }
+    }
+
+    public static MappedCSRMatrix openCSR(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, CSR);
+            ChunkedBuffer[] segments = mapSparse(channel, header.rows, header.nonZeroCount);
+            return new MappedCSRMatrix((int) header.rows, (int) header.cols, header.nonZeroCount, segments[0], segments[1], segments[2]);
+        }
+    }
+
+    public static MappedCSCMatrix openCSC(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, CSC);
+            ChunkedBuffer[] segments = mapSparse(channel, header.cols, header.nonZeroCount);
+            return new MappedCSCMatrix((int) header.rows, (int) header.cols, header.nonZeroCount, segments[0], segments[1], segments[2]);
+        }
+    }
+
+    private static ChunkedBuffer[] mapSparse(FileChannel channel, long major, long nonZeroCount) throws IOException {
+        checkSize(channel, valueOffset(major, nonZeroCount) + nonZeroCount * Double.BYTES);
+        return new ChunkedBuffer[]{
+                ChunkedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (major + 1) * Long.BYTES),
+                ChunkedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, indexOffset(major), nonZeroCount * Integer.BYTES),
+                ChunkedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, valueOffset(major, nonZeroCount), nonZeroCount * Double.BYTES)
+        };
+    }
+
+    static long indexOffset(long major) {
+        return HEADER_BYTES + (major + 1) * Long.BYTES;
+    }
+
+    static long valueOffset(long major, long nonZeroCount) {
+        long end = indexOffset(major) + nonZeroCount * Integer.BYTES;
+        return (end + Double.BYTES - 1) & -Double.BYTES;
+    }
+
+    private static FileChannel create(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void writeHeader(FileChannel channel, int format, int rows, int cols, long nonZeroCount) throws IOException {
+        if (rows < 0 || cols < 0 || nonZeroCount < 0) {
+            throw new IllegalArgumentException("Matrix dimensions must not be negative.");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(format).putInt(0);
+        header.putLong(rows).putLong(cols).putLong(nonZeroCount);
+        header.clear();
+        channel.write(header, 0);
+    }
+
+    private static Header readHeader(FileChannel channel, int expectedFormat) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new IOException("The matrix file is shorter than its header.");
+            }
+        }
+        buffer.flip();
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("The file is not a binary matrix file.");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported matrix file version " + version + ".");
+        }
+        int format = buffer.getInt();
+        if (format != expectedFormat) {
+            throw new IOException("The matrix file holds format " + format + " but format " + expectedFormat + " was requested.");
+        }
+        buffer.getInt();
+        long rows = buffer.getLong();
+        long cols = buffer.getLong();
+        long nonZeroCount = buffer.getLong();
+        if (rows < 0 || cols < 0 || rows > Integer.MAX_VALUE || cols > Integer.MAX_VALUE || nonZeroCount < 0) {
+            throw new IOException("The matrix file has an invalid header.");
+        }
+        return new Header(rows, cols, nonZeroCount);
+    }
+
+    private static void checkSize(FileChannel channel, long expected) throws IOException {
+        if (channel.size() < expected) {
+            throw new IOException("The matrix file is truncated: expected " + expected + " bytes but found " + channel.size() + ".");
+        }
+    }
+
+    private static class Header {
+        private final long rows;
+        private final long cols;
+        private final long nonZeroCount;
+
+        Header(long rows, long cols, long nonZeroCount) {
+            this.rows = rows;
+            this.cols = cols;
+            this.nonZeroCount = nonZeroCount;
+        }
+    }
+
+    public static class CSRWriter implements AutoCloseable {
+        private final Path path;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final SparseSegments segments;
+
+        CSRWriter(Path path, int format, int rows, int cols, long nonZeroCount) throws IOException {
+            this.path = path;
+            Path target = path.toAbsolutePath();
+            this.temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            FileChannel opened = null;
+            try {
+                opened = create(temporary);
+                writeHeader(opened, format, rows, cols, nonZeroCount);
+                int major = format == CSR ? rows : cols;
+                this.segments = new SparseSegments(major, format == CSR ? cols : rows, nonZeroCount,
+                        ChunkedBuffer.map(opened, FileChannel.MapMode.READ_WRITE, HEADER_BYTES, ((long) major + 1) * Long.BYTES),
+                        ChunkedBuffer.map(opened, FileChannel.MapMode.READ_WRITE, indexOffset(major), nonZeroCount * Integer.BYTES),
+                        ChunkedBuffer.map(opened, FileChannel.MapMode.READ_WRITE, valueOffset(major, nonZeroCount), nonZeroCount * Double.BYTES));
+            } catch (IOException | RuntimeException e) {
+                if (opened != null) {
+                    opened.close();
+                }
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            this.channel = opened;
+        }
+
+        public void appendRow(int[] columns, double[] rowValues, int count) {
+            segments.append(columns, rowValues, 0, count);
+        }
+
+        void append(int[] indexArray, double[] valueArray, int from, int count) {
+            segments.append(indexArray, valueArray, from, count);
+        }
+
+        @Override
+        public void close() throws IOException {
+            boolean complete = false;
+            try {
+                segments.finish();
+                segments.pointers().force();
+                segments.indices().force();
+                segments.values().force();
+                complete = true;
+            } finally {
+                try {
+                    channel.close();
+                } finally {
+                    if (!complete) {
+                        Files.deleteIfExists(temporary);
+                    }
+                }
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example;
+
+public class MatrixWorkspace {
+    private double[] packedA = new double[0];
+    private double[] packedB = new double[0];
+    private double[] edge = new double[0];
+    private double[] accumulator = new double[0];
+    private int[] marker = new int[0];
+
+    double[] packedA(int size) {
+        if (packedA.length < size) {
+            packedA = new double[size];
+        }
+        return packedA;
+    }
+
+    double[] packedB(int size) {
+        if (packedB.length < size) {
+            packedB = new double[size];
+        }
+        return packedB;
+    }
+
+    double[] edge(int size) {
+        if (edge.length < size) {
+            edge = new double[size];
+        }
+        return edge;
+    }
+
+    double[] accumulator(int size) {
+        if (accumulator.length < size) {
+            accumulator = new double[size];
+        }
+        return accumulator;
+    }
+
+    int[] marker(int size) {
+        if (marker.length < size) {
+            marker = new int[size];
+        }
+        return marker;
+    }
+}
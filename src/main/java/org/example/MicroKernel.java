@@ -0,0 +1,9 @@
+package org.example;
+
+interface MicroKernel {
+    int rowsPerPanel();
+
+    int colsPerPanel();
+
+    void compute(int depth, double[] packedA, int aOffset, double[] packedB, int bOffset, double[] c, int cOffset, int cStride);
+}
@@ -2,15 +2,78 @@ package org.example;
 
 public class NaiveMatrixMultiplication {
     public static double[][] multiply(double[][] a, double[][] b) {
-        int n = a.length;
-        double[][] c = new double[n][n];
-        for (int i = 0; i < n; i++) {
+        DenseMatrix.checkMultiplicable(a, b);
+        int m = a.length;
+        int inner = b.length;
+        int n = inner == 0 ? 0 : b[0].length;
+        double[][] c = new double[m][n];
+        for (int i = 0; i < m; i++) {
             for (int j = 0; j < n; j++) {
-                for (int k = 0; k < n; k++) {
+                for (int k = 0; k < inner; k++) {
                     c[i][j] += a[i][k] * b[k][j];
                 }
             }
         }
         return c;
     }
+
+    public static void multiplyInto(double[][] c, double[][] a, double[][] b) {
+        multiplyInto(c, a, b, 1.0, 0.0);
+    }
+
+    public static void multiplyInto(double[][] c, double[][] a, double[][] b, double alpha, double beta) {
+        DenseMatrix.checkMultiplicable(a, b);
+        int m = a.length;
+        int inner = b.length;
+        int n = inner == 0 ? 0 : b[0].length;
+        DenseMatrix.checkOutput(c, m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < inner; k++) {
+                    sum += a[i][k] * b[k][j];
+                }
+                c[i][j] = beta == 0.0 ? alpha * sum : alpha * sum + beta * c[i][j];
+            }
+        }
+    }
+
+    public static DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix c = new DenseMatrix(a.getRows(), b.getCols());
+        multiplyAccumulate(a, b, c);
+        return c;
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b) {
+        multiplyInto(c, a, b, 1.0, 0.0);
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, double alpha, double beta) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix.checkOutput(c, a.getRows(), b.getCols());
+        c.scale(beta);
+        multiplyAccumulate(a, b, c, alpha);
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        multiplyAccumulate(a, b, c, 1.0);
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha) {
+        int m = a.getRows(), n = b.getCols(), inner = a.getCols();
+        double[] ad = a.getData(), bd = b.getData(), cd = c.getData();
+        int as = a.getStride(), bs = b.getStride(), cs = c.getStride();
+        for (int i = 0; i < m; i++) {
+            int aRow = a.getOffset() + i * as;
+            int cRow = c.getOffset() + i * cs;
+            for (int k = 0; k < inner; k++) {
+                double aik = alpha * ad[aRow + k];
+                int bRow = b.getOffset() + k * bs;
+                for (int j = 0; j < n; j++) {
+                    cd[cRow + j] += aik * bd[bRow + j];
+                }
+            }
+        }
+    }
 }
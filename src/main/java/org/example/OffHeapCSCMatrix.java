@@ -0,0 +1,197 @@
+package org.example;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class OffHeapCSCMatrix implements AutoCloseable {
+    private final int rows;
+    private final int cols;
+    private final long nonZeroCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ChunkedBuffer colPointers;
+    private ChunkedBuffer rowIndices;
+    private ChunkedBuffer values;
+
+    private OffHeapCSCMatrix(int rows, int cols, long nonZeroCount, SparseSegments segments) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nonZeroCount = nonZeroCount;
+        this.colPointers = segments.pointers();
+        this.rowIndices = segments.indices();
+        this.values = segments.values();
+    }
+
+    public static OffHeapCSCMatrix of(CSCMatrixMultiplication matrix) {
+        int[] colPointers = matrix.getColPointers();
+        int cols = matrix.getColCount();
+        Builder builder = builder(matrix.getRowCount(), cols, colPointers[cols]);
+        for (int j = 0; j < cols; j++) {
+            builder.segments.append(matrix.getRowIndices(), matrix.getValues(), colPointers[j], colPointers[j + 1] - colPointers[j]);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder(int rows, int cols, long nonZeroCount) {
+        return new Builder(rows, cols, nonZeroCount);
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            if (vector.length != cols || result.length != rows) {
+                throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSC matrix.");
+            }
+            MappedCSCMatrix.multiplyInto(cols, colPointers, rowIndices, values, result, vector, alpha, beta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            if (denseMatrix.length != cols) {
+                throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSC matrix.");
+            }
+            DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+            MappedCSCMatrix.multiplyInto(cols, colPointers, rowIndices, values, result, denseMatrix, alpha, beta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public CSCMatrixMultiplication toCSC() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return MappedCSCMatrix.toCSC(rows, cols, nonZeroCount, colPointers, rowIndices, values);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getColPointer(int col) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return colPointers.getLong(col);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRowIndex(long index) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return rowIndices.getInt(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double getValue(long index) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return values.getDouble(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColCount() {
+        return cols;
+    }
+
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    public long getMemoryUsage() {
+        lock.readLock().lock();
+        try {
+            return values == null ? 0 : colPointers.byteSize() + rowIndices.byteSize() + values.byteSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.readLock().lock();
+        try {
+            return values == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (values == null) {
+                return;
+            }
+            colPointers.release();
+            rowIndices.release();
+            values.release();
+            colPointers = null;
+            rowIndices = null;
+            values = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (values == null) {
+            throw new IllegalStateException("The off-heap matrix has already been closed.");
+        }
+    }
+
+    public static class Builder {
+        private final int rows;
+        private final int cols;
+        private final long nonZeroCount;
+        private final SparseSegments segments;
+
+        private Builder(int rows, int cols, long nonZeroCount) {
+            this.rows = rows;
+            this.cols = cols;
+            this.nonZeroCount = nonZeroCount;
+            this.segments = SparseSegments.allocateDirect(cols, rows, nonZeroCount);
+        }
+
+        public Builder appendColumn(int[] rowIndices, double[] columnValues, int count) {
+            segments.append(rowIndices, columnValues, 0, count);
+            return this;
+        }
+
+        public OffHeapCSCMatrix build() {
+            segments.finish();
+            return new OffHeapCSCMatrix(rows, cols, nonZeroCount, segments);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.example;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class OffHeapCSRMatrix implements AutoCloseable {
+    private final int rows;
+    private final int cols;
+    private final long nonZeroCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ChunkedBuffer rowPointers;
+    private ChunkedBuffer columnIndices;
+    private ChunkedBuffer values;
+
+    private OffHeapCSRMatrix(int rows, int cols, long nonZeroCount, SparseSegments segments) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nonZeroCount = nonZeroCount;
+        this.rowPointers = segments.pointers();
+        this.columnIndices = segments.indices();
+        this.values = segments.values();
+    }
+
+    public static OffHeapCSRMatrix of(CSRMatrixMultiplication.CSRMatrix matrix) {
+        int[] rowPointers = matrix.getRowPointers();
+        Builder builder = builder(matrix.getRows(), matrix.getCols(), matrix.getNonZeroCount());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            builder.segments.append(matrix.getColumnIndices(), matrix.getValues(), rowPointers[i], rowPointers[i + 1] - rowPointers[i]);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder(int rows, int cols, long nonZeroCount) {
+        return new Builder(rows, cols, nonZeroCount);
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            if (vector.length != cols || result.length != rows) {
+                throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSR matrix.");
+            }
+            MappedCSRMatrix.multiplyInto(rows, rowPointers, columnIndices, values, result, vector, alpha, beta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            if (denseMatrix.length != cols) {
+                throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+            }
+            DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+            MappedCSRMatrix.multiplyInto(rows, rowPointers, columnIndices, values, result, denseMatrix, alpha, beta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix toCSR() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return MappedCSRMatrix.toCSR(rows, cols, nonZeroCount, rowPointers, columnIndices, values);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getRowPointer(int row) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return rowPointers.getLong(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getColumnIndex(long index) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return columnIndices.getInt(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double getValue(long index) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return values.getDouble(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    public long getMemoryUsage() {
+        lock.readLock().lock();
+        try {
+            return values == null ? 0 : rowPointers.byteSize() + columnIndices.byteSize() + values.byteSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.readLock().lock();
+        try {
+            return values == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (values == null) {
+                return;
+            }
+            rowPointers.release();
+            columnIndices.release();
+            values.release();
+            rowPointers = null;
+            columnIndices = null;
+            values = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (values == null) {
+            throw new IllegalStateException("The off-heap matrix has already been closed.");
+        }
+    }
+
+    public static class Builder {
+        private final int rows;
+        private final int cols;
+        private final long nonZeroCount;
+        private final SparseSegments segments;
+
+        private Builder(int rows, int cols, long nonZeroCount) {
+            this.rows = rows;
+            this.cols = cols;
+            this.nonZeroCount = nonZeroCount;
+            this.segments = SparseSegments.allocateDirect(rows, cols, nonZeroCount);
+        }
+
+        public Builder appendRow(int[] columns, double[] rowValues, int count) {
+            segments.append(columns, rowValues, 0, count);
+            return this;
+        }
+
+        public OffHeapCSRMatrix build() {
+            segments.finish();
+            return new OffHeapCSRMatrix(rows, cols, nonZeroCount, segments);
+        }
+    }
+}
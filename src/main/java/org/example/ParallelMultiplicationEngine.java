@@ -0,0 +1,359 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ParallelMultiplicationEngine {
+    private static final int TILES_PER_THREAD = 4;
+    private static final long MIN_TILE_WORK = 32L * 32 * 32;
+    private static final int ROW_STRIP = 8;
+    private static final MatrixMetrics.Kernel METRICS = MatrixMetrics.kernel("ParallelMultiplicationEngine.multiply");
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int tileRows;
+    private final int tileCols;
+
+    public ParallelMultiplicationEngine(Executor executor) {
+        this(executor, defaultParallelism(executor));
+    }
+
+    public ParallelMultiplicationEngine(Executor executor, int parallelism) {
+        this(executor, parallelism, 0, 0);
+    }
+
+    public ParallelMultiplicationEngine(Executor executor, int parallelism, int tileRows, int tileCols) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive.");
+        }
+        if (tileRows < 0 || tileCols < 0) {
+            throw new IllegalArgumentException("Tile dimensions must not be negative.");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.tileRows = tileRows;
+        this.tileCols = tileCols;
+    }
+
+    private static int defaultParallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public double[][] multiply(double[][] a, double[][] b) {
+        MatrixMetrics.Sample sample = METRICS.start();
+        double[][] c = allocate(a, b);
+        int cols = c.length == 0 ? 0 : c[0].length;
+        join(start(c, arrayKernel(c, a, b, 1.0, 0.0), c.length, cols, b.length, true));
+        record(sample, c.length, b.length, cols);
+        return c;
+    }
+
+    public void multiplyInto(double[][] c, double[][] a, double[][] b) {
+        multiplyInto(c, a, b, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[][] c, double[][] a, double[][] b, double alpha, double beta) {
+        DenseMatrix.checkMultiplicable(a, b);
+        int cols = b.length == 0 ? 0 : b[0].length;
+        DenseMatrix.checkOutput(c, a.length, cols);
+        MatrixMetrics.Sample sample = METRICS.start();
+        join(start(c, arrayKernel(c, a, b, alpha, beta), a.length, cols, b.length, true));
+        record(sample, a.length, b.length, cols);
+    }
+
+    public double[][] multiply(double[][] a, double[][] b, long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        Future<double[][]> future = submit(a, b);
+        try {
+            return future.get(timeout, unit);
+        } catch (TimeoutException | InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    public Future<double[][]> submit(double[][] a, double[][] b) {
+        double[][] c = allocate(a, b);
+        return start(c, arrayKernel(c, a, b, 1.0, 0.0), c.length, c.length == 0 ? 0 : c[0].length, b.length, false);
+    }
+
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        MatrixMetrics.Sample sample = METRICS.start();
+        DenseMatrix c = new DenseMatrix(a.getRows(), b.getCols());
+        join(start(c, denseKernel(c, a, b, 1.0, 0.0), a.getRows(), b.getCols(), b.getRows(), true));
+        record(sample, a.getRows(), b.getRows(), b.getCols());
+        return c;
+    }
+
+    public void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b) {
+        multiplyInto(c, a, b, 1.0, 0.0);
+    }
+
+    public void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, double alpha, double beta) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix.checkOutput(c, a.getRows(), b.getCols());
+        MatrixMetrics.Sample sample = METRICS.start();
+        join(start(c, denseKernel(c, a, b, alpha, beta), a.getRows(), b.getCols(), b.getRows(), true));
+        record(sample, a.getRows(), b.getRows(), b.getCols());
+    }
+
+    public Future<DenseMatrix> submit(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix c = new DenseMatrix(a.getRows(), b.getCols());
+        return start(c, denseKernel(c, a, b, 1.0, 0.0), a.getRows(), b.getCols(), b.getRows(), false);
+    }
+
+    private static void record(MatrixMetrics.Sample sample, int rows, int inner, int cols) {
+        long elements = (long) rows * inner;
+        METRICS.stop(sample, 2.0 * rows * inner * cols, elements, elements);
+    }
+
+    private static double[][] allocate(double[][] a, double[][] b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        return new double[a.length][b.length == 0 ? 0 : b[0].length];
+    }
+
+    private <T> Job<T> start(T result, TileKernel kernel, int rows, int cols, int inner, boolean blocking) {
+        int[] shape = tileShape(rows, cols, inner, parallelism, tileRows, tileCols);
+        Job<T> job = new Job<>(result, kernel, rows, cols, shape[0], shape[1]);
+        if (blocking && executor instanceof ForkJoinPool && ForkJoinTask.getPool() == executor) {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(job.tileCount);
+            for (int t = 0; t < job.tileCount; t++) {
+                int tile = t;
+                tasks.add(ForkJoinTask.adapt(() -> job.runTile(tile)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (int t = 0; t < job.tileCount; t++) {
+                int tile = t;
+                try {
+                    executor.execute(() -> job.runTile(tile));
+                } catch (RuntimeException e) {
+                    job.fail(e);
+                    for (int skipped = t; skipped < job.tileCount; skipped++) {
+                        job.remaining.countDown();
+                    }
+                    break;
+                }
+            }
+        }
+        return job;
+    }
+
+    private static <T> T join(Job<T> job) {
+        try {
+            return job.get();
+        } catch (InterruptedException e) {
+            job.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The multiplication was interrupted.");
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    static int[] tileShape(int rows, int cols, int inner, int parallelism, int fixedRows, int fixedCols) {
+        if (rows == 0 || cols == 0) {
+            return new int[]{Math.max(1, rows), Math.max(1, cols)};
+        }
+        long work = (long) rows * cols * Math.max(1, inner);
+        long maxTiles = Math.max(1, Math.min((long) parallelism * TILES_PER_THREAD, work / MIN_TILE_WORK));
+        int rowTiles = (int) Math.max(1, Math.min(rows, Math.round(Math.sqrt(maxTiles * (double) rows / cols))));
+        int colTiles = (int) Math.max(1, Math.min(cols, maxTiles / rowTiles));
+        int height = fixedRows > 0 ? Math.min(fixedRows, rows) : (rows + rowTiles - 1) / rowTiles;
+        int width = fixedCols > 0 ? Math.min(fixedCols, cols) : (cols + colTiles - 1) / colTiles;
+        return new int[]{height, width};
+    }
+
+    private static TileKernel arrayKernel(double[][] c, double[][] a, double[][] b, double alpha, double beta) {
+        return (startRow, endRow, startCol, endCol, job) -> {
+            for (int i = startRow; i < endRow; i++) {
+                if (job.isStopped()) {
+                    return;
+                }
+                double[] aRow = a[i];
+                double[] cRow = c[i];
+                if (beta != 1.0) {
+                    for (int j = startCol; j < endCol; j++) {
+                        cRow[j] = beta == 0.0 ? 0.0 : beta * cRow[j];
+                    }
+                }
+                for (int k = 0; k < b.length; k++) {
+                    double aik = alpha * aRow[k];
+                    double[] bRow = b[k];
+                    for (int j = startCol; j < endCol; j++) {
+                        cRow[j] += aik * bRow[j];
+                    }
+                }
+            }
+        };
+    }
+
+    private static TileKernel denseKernel(DenseMatrix c, DenseMatrix a, DenseMatrix b, double alpha, double beta) {
+        return (startRow, endRow, startCol, endCol, job) -> {
+            int width = endCol - startCol;
+            DenseMatrix bPanel = b.subMatrix(0, startCol, b.getRows(), width);
+            for (int i = startRow; i < endRow; i += ROW_STRIP) {
+                if (job.isStopped()) {
+                    return;
+                }
+                int height = Math.min(ROW_STRIP, endRow - i);
+                DenseMatrix tile = c.subMatrix(i, startCol, height, width);
+                tile.scale(beta);
+                NaiveMatrixMultiplication.multiplyAccumulate(a.subMatrix(i, 0, height, a.getCols()), bPanel, tile, alpha);
+            }
+        };
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getTileRows() {
+        return tileRows;
+    }
+
+    public int getTileCols() {
+        return tileCols;
+    }
+
+    private interface TileKernel {
+        void compute(int startRow, int endRow, int startCol, int endCol, Job<?> job);
+    }
+
+    private static class Job<T> implements Future<T> {
+        private final T result;
+        private final TileKernel kernel;
+        private final int rows;
+        private final int cols;
+        private final int tileRows;
+        private final int tileCols;
+        private final int colTiles;
+        private final int tileCount;
+        private final CountDownLatch remaining;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        Job(T result, TileKernel kernel, int rows, int cols, int tileRows, int tileCols) {
+            this.result = result;
+            this.kernel = kernel;
+            this.rows = rows;
+            this.cols = cols;
+            this.tileRows = tileRows;
+            this.tileCols = tileCols;
+            this.colTiles = (cols + tileCols - 1) / tileCols;
+            this.tileCount = ((rows + tileRows - 1) / tileRows) * colTiles;
+            this.remaining = new CountDownLatch(tileCount);
+        }
+
+        void runTile(int tile) {
+            try {
+                if (!isStopped()) {
+                    int startRow = (tile / colTiles) * tileRows;
+                    int startCol = (tile % colTiles) * tileCols;
+                    kernel.compute(startRow, Math.min(rows, startRow + tileRows), startCol, Math.min(cols, startCol + tileCols), this);
+                }
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                remaining.countDown();
+            }
+        }
+
+        synchronized void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        boolean isStopped() {
+            return cancelled || failure != null;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (remaining.getCount() == 0 || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled || remaining.getCount() == 0;
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    remaining.await();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return remaining.getCount() == 0;
+                }
+            });
+            return report();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!remaining.await(timeout, unit)) {
+                throw new TimeoutException("The multiplication did not finish within " + timeout + " " + unit + ".");
+            }
+            return report();
+        }
+
+        private T report() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException("The multiplication was cancelled.");
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelSparseMultiplication {
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    public ParallelSparseMultiplication() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelSparseMultiplication(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public double[] multiply(CSRMatrixMultiplication.CSRMatrix matrix, double[] vector) {
+        if (vector.length != matrix.getCols()) {
+            throw new IllegalArgumentException("The vector length does not match the columns of the CSR matrix.");
+        }
+        double[] result = new double[matrix.getRows()];
+        multiplyInto(result, matrix, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, CSRMatrixMultiplication.CSRMatrix matrix, double[] vector, double alpha, double beta) {
+        if (vector.length != matrix.getCols() || result.length != matrix.getRows()) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the CSR matrix.");
+        }
+        int[] boundaries = partitionRows(matrix.getRowPointers(), matrix.getRows(), pool.getParallelism() * PARTITIONS_PER_THREAD);
+        pool.invoke(new SpMVTask(matrix, vector, result, alpha, beta, boundaries, 0, boundaries.length - 1));
+    }
+
+    public double[][] multiply(CSRMatrixMultiplication.CSRMatrix matrix, double[][] denseMatrix) {
+        if (denseMatrix.length != matrix.getCols()) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+        }
+        int cols = denseMatrix.length == 0 ? 0 : denseMatrix[0].length;
+        double[][] result = new double[matrix.getRows()][cols];
+        int[] boundaries = partitionRows(matrix.getRowPointers(), matrix.getRows(), pool.getParallelism() * PARTITIONS_PER_THREAD);
+        pool.invoke(new SpMMTask(matrix, denseMatrix, result, 1.0, 1.0, boundaries, 0, boundaries.length - 1));
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, CSRMatrixMultiplication.CSRMatrix matrix, double[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != matrix.getCols()) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the CSR matrix.");
+        }
+        DenseMatrix.checkOutput(result, matrix.getRows(), denseMatrix.length == 0 ? 0 : denseMatrix[0].length);
+        int[] boundaries = partitionRows(matrix.getRowPointers(), matrix.getRows(), pool.getParallelism() * PARTITIONS_PER_THREAD);
+        pool.invoke(new SpMMTask(matrix, denseMatrix, result, alpha, beta, boundaries, 0, boundaries.length - 1));
+    }
+
+    static int[] partitionRows(int[] rowPointers, int rows, int parts) {
+        int nonZeroCount = rowPointers[rows];
+        parts = Math.max(1, Math.min(parts, rows));
+        int[] boundaries = new int[parts + 1];
+        boundaries[parts] = rows;
+        for (int p = 1; p < parts; p++) {
+            long target = (long) nonZeroCount * p / parts;
+            int low = boundaries[p - 1];
+            int high = rows;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rowPointers[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            boundaries[p] = low;
+        }
+        return boundaries;
+    }
+
+    static class SpMVTask extends RecursiveAction {
+        private final CSRMatrixMultiplication.CSRMatrix matrix;
+        private final double[] vector, result;
+        private final double alpha, beta;
+        private final int[] boundaries;
+        private final int startPart, endPart;
+
+        SpMVTask(CSRMatrixMultiplication.CSRMatrix matrix, double[] vector, double[] result, double alpha, double beta,
+                 int[] boundaries, int startPart, int endPart) {
+            this.matrix = matrix;
+            this.vector = vector;
+            this.result = result;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.boundaries = boundaries;
+            this.startPart = startPart;
+            this.endPart = endPart;
+        }
+
+        @Override
+        protected void compute() {
+            if (endPart - startPart <= 1) {
+                double[] values = matrix.getValues();
+                int[] columnIndices = matrix.getColumnIndices();
+                int[] rowPointers = matrix.getRowPointers();
+                for (int i = boundaries[startPart]; i < boundaries[endPart]; i++) {
+                    double sum = 0.0;
+                    for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                        sum += values[j] * vector[columnIndices[j]];
+                    }
+                    result[i] = beta == 0.0 ? alpha * sum : alpha * sum + beta * result[i];
+                }
+            } else {
+                int mid = (startPart + endPart) >>> 1;
+                invokeAll(new SpMVTask(matrix, vector, result, alpha, beta, boundaries, startPart, mid),
+                        new SpMVTask(matrix, vector, result, alpha, beta, boundaries, mid, endPart));
+            }
+        }
+    }
+
+    static class SpMMTask extends RecursiveAction {
+        private final CSRMatrixMultiplication.CSRMatrix matrix;
+        private final double[][] denseMatrix, result;
+        private final double alpha, beta;
+        private final int[] boundaries;
+        private final int startPart, endPart;
+
+        SpMMTask(CSRMatrixMultiplication.CSRMatrix matrix, double[][] denseMatrix, double[][] result, double alpha, double beta,
+                 int[] boundaries, int startPart, int endPart) {
+            this.matrix = matrix;
+            this.denseMatrix = denseMatrix;
+            this.result = result;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.boundaries = boundaries;
+            this.startPart = startPart;
+            this.endPart = endPart;
+        }
+
+        @Override
+        protected void compute() {
+            if (endPart - startPart <= 1) {
+                double[] values = matrix.getValues();
+                int[] columnIndices = matrix.getColumnIndices();
+                int[] rowPointers = matrix.getRowPointers();
+                for (int i = boundaries[startPart]; i < boundaries[endPart]; i++) {
+                    double[] resultRow = result[i];
+                    if (beta != 1.0) {
+                        for (int k = 0; k < resultRow.length; k++) {
+                            resultRow[k] = beta == 0.0 ? 0.0 : beta * resultRow[k];
+                        }
+                    }
+                    for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                        double value = alpha * values[j];
+                        double[] denseRow = denseMatrix[columnIndices[j]];
+                        for (int k = 0; k < resultRow.length; k++) {
+                            resultRow[k] += value * denseRow[k];
+                        }
+                    }
+                }
+            } else {
+                int mid = (startPart + endPart) >>> 1;
+                invokeAll(new SpMMTask(matrix, denseMatrix, result, alpha, beta, boundaries, startPart, mid),
+                        new SpMMTask(matrix, denseMatrix, result, alpha, beta, boundaries, mid, endPart));
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class ProductCache implements AutoCloseable {
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final long maxBytes;
+    private final boolean offHeap;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long bytes;
+    private boolean closed;
+
+    public ProductCache(long maxBytes) {
+        this(maxBytes, false);
+    }
+
+    public ProductCache(long maxBytes, boolean offHeap) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative.");
+        }
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+    }
+
+    public double[][] multiply(CSRMatrixMultiplication.CSRMatrix a, double[][] b) {
+        return getOrCompute(a.getFingerprint(), MatrixFingerprint.of(b), () -> a.multiply(b));
+    }
+
+    public double[][] multiply(UpdatableCSRMatrix a, double[][] b) {
+        return getOrCompute(a.getFingerprint(), MatrixFingerprint.of(b), () -> a.multiply(b));
+    }
+
+    public double[][] multiply(double[][] a, double[][] b) {
+        return getOrCompute(MatrixFingerprint.of(a), MatrixFingerprint.of(b), () -> ParallelMatrixMultiplication.multiply(a, b));
+    }
+
+    public double[][] getOrCompute(MatrixFingerprint a, MatrixFingerprint b, Supplier<double[][]> product) {
+        double[][] cached = get(a, b);
+        if (cached != null) {
+            return cached;
+        }
+        double[][] result = product.get();
+        put(a, b, result);
+        return result;
+    }
+
+    public double[][] get(MatrixFingerprint a, MatrixFingerprint b) {
+        Key key = new Key(a, b);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.offHeap != null) {
+                hits.increment();
+                return entry.read();
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.read();
+    }
+
+    public void put(MatrixFingerprint a, MatrixFingerprint b, double[][] product) {
+        int rows = product.length;
+        int cols = rows == 0 ? 0 : product[0].length;
+        if (rows != a.getRows() || cols != b.getCols()) {
+            throw new IllegalArgumentException("The product dimensions do not match the fingerprinted operands.");
+        }
+        for (double[] row : product) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("All rows must have the same number of columns.");
+            }
+        }
+        long size = (offHeap ? (long) rows * cols * Double.BYTES
+                : ARRAY_HEADER_BYTES + (long) rows * (ARRAY_HEADER_BYTES + Integer.BYTES + (long) cols * Double.BYTES))
+                + ENTRY_OVERHEAD_BYTES;
+        if (size > maxBytes) {
+            return;
+        }
+        Entry entry = offHeap ? Entry.offHeap(product, size) : Entry.heap(product, size);
+        synchronized (this) {
+            if (closed) {
+                entry.release();
+                return;
+            }
+            Entry previous = entries.put(new Key(a, b), entry);
+            if (previous != null) {
+                bytes -= previous.bytes;
+                previous.release();
+            }
+            bytes += size;
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                bytes -= evicted.bytes;
+                evicted.release();
+                evictions.increment();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.release();
+        }
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        clear();
+        closed = true;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProductCache{size=%d, bytes=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f}",
+                getSize(), getBytes(), maxBytes, getHits(), getMisses(), getEvictions(), getHitRate());
+    }
+
+    private static class Key {
+        private final MatrixFingerprint a;
+        private final MatrixFingerprint b;
+
+        Key(MatrixFingerprint a, MatrixFingerprint b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) other;
+            return a.equals(that.a) && b.equals(that.b);
+        }
+
+        @Override
+        public int hashCode() {
+            return a.hashCode() * 31 + b.hashCode();
+        }
+    }
+
+    private static class Entry {
+        private final double[][] heap;
+        private final ChunkedBuffer offHeap;
+        private final int rows;
+        private final int cols;
+        private final long bytes;
+
+        private Entry(double[][] heap, ChunkedBuffer offHeap, int rows, int cols, long bytes) {
+            this.heap = heap;
+            this.offHeap = offHeap;
+            this.rows = rows;
+            this.cols = cols;
+            this.bytes = bytes;
+        }
+
+        static Entry heap(double[][] product, long bytes) {
+            double[][] copy = new double[product.length][];
+            for (int i = 0; i < product.length; i++) {
+                copy[i] = product[i].clone();
+            }
+            return new Entry(copy, null, product.length, copy.length == 0 ? 0 : copy[0].length, bytes);
+        }
+
+        static Entry offHeap(double[][] product, long bytes) {
+            int rows = product.length;
+            int cols = rows == 0 ? 0 : product[0].length;
+            ChunkedBuffer buffer = ChunkedBuffer.allocateDirect((long) rows * cols * Double.BYTES);
+            for (int i = 0; i < rows; i++) {
+                buffer.putDoubles((long) i * cols, product[i]);
+            }
+            return new Entry(null, buffer, rows, cols, bytes);
+        }
+
+        double[][] read() {
+            double[][] result = new double[rows][];
+            for (int i = 0; i < rows; i++) {
+                if (heap != null) {
+                    result[i] = heap[i].clone();
+                } else {
+                    result[i] = new double[cols];
+                    offHeap.getDoubles((long) i * cols, result[i]);
+                }
+            }
+            return result;
+        }
+
+        void release() {
+            if (offHeap != null) {
+                offHeap.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class ReorderedCSRMatrix {
+    private static final int MAX_PERIPHERAL_SWEEPS = 2;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final CSRMatrixMultiplication.CSRMatrix matrix;
+    private final int[] permutation;
+    private final int[] inversePermutation;
+    private final int bandwidthBefore;
+    private final long profileBefore;
+    private final int bandwidthAfter;
+    private final long profileAfter;
+
+    public ReorderedCSRMatrix(CSRMatrixMultiplication.CSRMatrix original) {
+        this(original, reverseCuthillMcKee(original));
+    }
+
+    public ReorderedCSRMatrix(CSRMatrixMultiplication.CSRMatrix original, int[] permutation) {
+        int n = original.getRows();
+        if (original.getCols() != n) {
+            throw new IllegalArgumentException("Symmetric reordering requires a square matrix.");
+        }
+        if (permutation.length != n) {
+            throw new IllegalArgumentException("The permutation length does not match the matrix dimension.");
+        }
+        this.permutation = permutation.clone();
+        this.inversePermutation = new int[n];
+        Arrays.fill(inversePermutation, -1);
+        for (int i = 0; i < n; i++) {
+            int old = this.permutation[i];
+            if (old < 0 || old >= n || inversePermutation[old] != -1) {
+                throw new IllegalArgumentException("The array is not a permutation of 0.." + (n - 1) + ".");
+            }
+            inversePermutation[old] = i;
+        }
+        this.matrix = permute(original, this.permutation, inversePermutation);
+        this.bandwidthBefore = bandwidth(original);
+        this.profileBefore = profile(original);
+        this.bandwidthAfter = bandwidth(matrix);
+        this.profileAfter = profile(matrix);
+    }
+
+    public static int[] reverseCuthillMcKee(CSRMatrixMultiplication.CSRMatrix matrix) {
+        int n = matrix.getRows();
+        if (matrix.getCols() != n) {
+            throw new IllegalArgumentException("Symmetric reordering requires a square matrix.");
+        }
+        int[][] graph = symmetricAdjacency(matrix);
+        int[] adjacencyPointers = graph[0];
+        int[] adjacency = graph[1];
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            degree[i] = adjacencyPointers[i + 1] - adjacencyPointers[i];
+        }
+
+        int[] order = new int[n];
+        boolean[] placed = new boolean[n];
+        int[] mark = new int[n];
+        int[] queue = new int[n];
+        long[] keys = new long[Math.max(1, maxDegree(degree))];
+        int[] stamp = {0};
+        int count = 0;
+        for (int seed = 0; seed < n; seed++) {
+            if (placed[seed]) {
+                continue;
+            }
+            int root = peripheralRoot(seed, adjacencyPointers, adjacency, degree, mark, queue, stamp);
+            int head = count;
+            order[count++] = root;
+            placed[root] = true;
+            while (head < count) {
+                int node = order[head++];
+                int added = 0;
+                for (int p = adjacencyPointers[node]; p < adjacencyPointers[node + 1]; p++) {
+                    int neighbor = adjacency[p];
+                    if (!placed[neighbor]) {
+                        placed[neighbor] = true;
+                        keys[added++] = ((long) degree[neighbor] << 32) | neighbor;
+                    }
+                }
+                sort(keys, added);
+                for (int k = 0; k < added; k++) {
+                    order[count++] = (int) keys[k];
+                }
+            }
+        }
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    public static int bandwidth(CSRMatrixMultiplication.CSRMatrix matrix) {
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columnIndices = matrix.getColumnIndices();
+        int bandwidth = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                bandwidth = Math.max(bandwidth, Math.abs(i - columnIndices[p]));
+            }
+        }
+        return bandwidth;
+    }
+
+    public static long profile(CSRMatrixMultiplication.CSRMatrix matrix) {
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columnIndices = matrix.getColumnIndices();
+        long profile = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            int first = i;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                first = Math.min(first, columnIndices[p]);
+            }
+            profile += i - first;
+        }
+        return profile;
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[matrix.getRows()];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        int n = matrix.getRows();
+        if (vector.length != n || result.length != n) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the reordered matrix.");
+        }
+        double[] permutedVector = permute(vector);
+        double[] permutedResult = new double[n];
+        if (beta != 0.0) {
+            for (int i = 0; i < n; i++) {
+                permutedResult[i] = result[permutation[i]];
+            }
+        }
+        matrix.multiplyInto(permutedResult, permutedVector, alpha, beta);
+        for (int i = 0; i < n; i++) {
+            result[permutation[i]] = permutedResult[i];
+        }
+    }
+
+    public void multiplyPermutedInto(double[] result, double[] vector) {
+        matrix.multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyPermutedInto(double[] result, double[] vector, double alpha, double beta) {
+        matrix.multiplyInto(result, vector, alpha, beta);
+    }
+
+    public double[] permute(double[] vector) {
+        if (vector.length != permutation.length) {
+            throw new IllegalArgumentException("The vector length does not match the dimensions of the reordered matrix.");
+        }
+        double[] permuted = new double[vector.length];
+        for (int i = 0; i < permuted.length; i++) {
+            permuted[i] = vector[permutation[i]];
+        }
+        return permuted;
+    }
+
+    public double[] unpermute(double[] vector) {
+        if (vector.length != permutation.length) {
+            throw new IllegalArgumentException("The vector length does not match the dimensions of the reordered matrix.");
+        }
+        double[] original = new double[vector.length];
+        for (int i = 0; i < original.length; i++) {
+            original[permutation[i]] = vector[i];
+        }
+        return original;
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        int cols = denseMatrix.length == 0 ? 0 : denseMatrix[0].length;
+        double[][] result = new double[matrix.getRows()][cols];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        int n = matrix.getRows();
+        if (denseMatrix.length != n || result.length != n) {
+            throw new IllegalArgumentException("The matrix dimensions do not match the dimensions of the reordered matrix.");
+        }
+        double[][] permutedInput = new double[n][];
+        double[][] permutedResult = new double[n][];
+        for (int i = 0; i < n; i++) {
+            permutedInput[i] = denseMatrix[permutation[i]];
+            permutedResult[i] = result[permutation[i]];
+        }
+        matrix.multiplyInto(permutedResult, permutedInput, alpha, beta);
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix getMatrix() {
+        return matrix;
+    }
+
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    public int[] getInversePermutation() {
+        return inversePermutation.clone();
+    }
+
+    public int getBandwidthBefore() {
+        return bandwidthBefore;
+    }
+
+    public int getBandwidthAfter() {
+        return bandwidthAfter;
+    }
+
+    public long getProfileBefore() {
+        return profileBefore;
+    }
+
+    public long getProfileAfter() {
+        return profileAfter;
+    }
+
+    public int getRows() {
+        return matrix.getRows();
+    }
+
+    public int getCols() {
+        return matrix.getCols();
+    }
+
+    public int getNonZeroCount() {
+        return matrix.getNonZeroCount();
+    }
+
+    @Override
+    public String toString() {
+        return "ReorderedCSRMatrix{n=" + matrix.getRows() + ", nnz=" + matrix.getNonZeroCount()
+                + ", bandwidth=" + bandwidthBefore + "->" + bandwidthAfter
+                + ", profile=" + profileBefore + "->" + profileAfter + "}";
+    }
+
+    private static CSRMatrixMultiplication.CSRMatrix permute(CSRMatrixMultiplication.CSRMatrix original,
+                                                             int[] permutation, int[] inversePermutation) {
+        int n = original.getRows();
+        int[] rowPointers = original.getRowPointers();
+        int[] columnIndices = original.getColumnIndices();
+        double[] values = original.getValues();
+        int[] newRowPointers = new int[n + 1];
+        int maxRow = 0;
+        for (int i = 0; i < n; i++) {
+            int old = permutation[i];
+            int length = rowPointers[old + 1] - rowPointers[old];
+            newRowPointers[i + 1] = newRowPointers[i] + length;
+            maxRow = Math.max(maxRow, length);
+        }
+        int[] newColumnIndices = new int[newRowPointers[n]];
+        double[] newValues = new double[newRowPointers[n]];
+        long[] keys = new long[maxRow];
+        for (int i = 0; i < n; i++) {
+            int old = permutation[i];
+            int start = rowPointers[old];
+            int length = rowPointers[old + 1] - start;
+            for (int k = 0; k < length; k++) {
+                keys[k] = ((long) inversePermutation[columnIndices[start + k]] << 32) | k;
+            }
+            sort(keys, length);
+            int target = newRowPointers[i];
+            for (int k = 0; k < length; k++) {
+                newColumnIndices[target + k] = (int) (keys[k] >>> 32);
+                newValues[target + k] = values[start + (int) keys[k]];
+            }
+        }
+        return new CSRMatrixMultiplication.CSRMatrix(n, n, newValues, newColumnIndices, newRowPointers);
+    }
+
+    private static int[][] symmetricAdjacency(CSRMatrixMultiplication.CSRMatrix matrix) {
+        int n = matrix.getRows();
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columnIndices = matrix.getColumnIndices();
+        CSCMatrixMultiplication transpose = matrix.toCSC();
+        int[] colPointers = transpose.getColPointers();
+        int[] rowIndices = transpose.getRowIndices();
+        int[] marker = new int[n];
+        Arrays.fill(marker, -1);
+        int[] pointers = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            marker[i] = i;
+            int degree = 0;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                if (marker[columnIndices[p]] != i) {
+                    marker[columnIndices[p]] = i;
+                    degree++;
+                }
+            }
+            for (int p = colPointers[i]; p < colPointers[i + 1]; p++) {
+                if (marker[rowIndices[p]] != i) {
+                    marker[rowIndices[p]] = i;
+                    degree++;
+                }
+            }
+            pointers[i + 1] = pointers[i] + degree;
+        }
+        int[] adjacency = new int[pointers[n]];
+        Arrays.fill(marker, -1);
+        for (int i = 0; i < n; i++) {
+            marker[i] = i;
+            int next = pointers[i];
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                if (marker[columnIndices[p]] != i) {
+                    marker[columnIndices[p]] = i;
+                    adjacency[next++] = columnIndices[p];
+                }
+            }
+            for (int p = colPointers[i]; p < colPointers[i + 1]; p++) {
+                if (marker[rowIndices[p]] != i) {
+                    marker[rowIndices[p]] = i;
+                    adjacency[next++] = rowIndices[p];
+                }
+            }
+        }
+        return new int[][]{pointers, adjacency};
+    }
+
+    private static int peripheralRoot(int seed, int[] adjacencyPointers, int[] adjacency, int[] degree,
+                                      int[] mark, int[] queue, int[] stamp) {
+        int root = seed;
+        int eccentricity = -1;
+        for (int sweep = 0; sweep < MAX_PERIPHERAL_SWEEPS; sweep++) {
+            int size = levelStructure(root, adjacencyPointers, adjacency, mark, queue, stamp);
+            int depth = mark[queue[size - 1]] - stamp[0];
+            if (depth <= eccentricity) {
+                break;
+            }
+            eccentricity = depth;
+            int candidate = queue[size - 1];
+            for (int k = size - 1; k >= 0 && mark[queue[k]] - stamp[0] == depth; k--) {
+                if (degree[queue[k]] < degree[candidate]) {
+                    candidate = queue[k];
+                }
+            }
+            if (candidate == root) {
+                break;
+            }
+            root = candidate;
+        }
+        return root;
+    }
+
+    private static int levelStructure(int root, int[] adjacencyPointers, int[] adjacency,
+                                      int[] mark, int[] queue, int[] stamp) {
+        long next = (long) stamp[0] + mark.length + 1;
+        if (next + mark.length > Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            next = mark.length + 1;
+        }
+        int base = (int) next;
+        stamp[0] = base;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        mark[root] = base;
+        while (head < tail) {
+            int node = queue[head++];
+            int level = mark[node] + 1;
+            for (int p = adjacencyPointers[node]; p < adjacencyPointers[node + 1]; p++) {
+                int neighbor = adjacency[p];
+                if (mark[neighbor] < base) {
+                    mark[neighbor] = level;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return tail;
+    }
+
+    private static void sort(long[] keys, int length) {
+        if (length > INSERTION_SORT_THRESHOLD) {
+            Arrays.sort(keys, 0, length);
+            return;
+        }
+        for (int i = 1; i < length; i++) {
+            long key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            keys[j + 1] = key;
+        }
+    }
+
+    private static int maxDegree(int[] degree) {
+        int max = 0;
+        for (int d : degree) {
+            max = Math.max(max, d);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example;
+
+class ScalarMicroKernel implements MicroKernel {
+    private static final int ROWS = 4;
+    private static final int COLS = 4;
+
+    @Override
+    public int rowsPerPanel() {
+        return ROWS;
+    }
+
+    @Override
+    public int colsPerPanel() {
+        return COLS;
+    }
+
+    @Override
+    public void compute(int depth, double[] packedA, int aOffset, double[] packedB, int bOffset, double[] c, int cOffset, int cStride) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        for (int p = 0; p < depth; p++) {
+            double b0 = packedB[bOffset], b1 = packedB[bOffset + 1], b2 = packedB[bOffset + 2], b3 = packedB[bOffset + 3];
+            double a0 = packedA[aOffset];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            double a1 = packedA[aOffset + 1];
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            double a2 = packedA[aOffset + 2];
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            double a3 = packedA[aOffset + 3];
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+            aOffset += ROWS;
+            bOffset += COLS;
+        }
+        int row = cOffset;
+        c[row] += c00; c[row + 1] += c01; c[row + 2] += c02; c[row + 3] += c03;
+        row += cStride;
+        c[row] += c10; c[row + 1] += c11; c[row + 2] += c12; c[row + 3] += c13;
+        row += cStride;
+        c[row] += c20; c[row + 1] += c21; c[row + 2] += c22; c[row + 3] += c23;
+        row += cStride;
+        c[row] += c30; c[row + 1] += c31; c[row + 2] += c32; c[row + 3] += c33;
+    }
+}
@@ -0,0 +1,185 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class SellCSigmaMatrix {
+    private static final int DEFAULT_SLICE_HEIGHT = 8;
+    private static final int DEFAULT_SORT_WINDOW = 256;
+    private static final int VECTOR_LANES = VectorMatrixMultiplication.isVectorized() ? VectorSparseKernels.lanes() : 0;
+
+    private final int rows;
+    private final int cols;
+    private final int sliceHeight;
+    private final int nonZeroCount;
+    private final int[] rowOrder;
+    private final int[] slicePointers;
+    private final int[] sliceWidths;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    public SellCSigmaMatrix(CSRMatrixMultiplication.CSRMatrix matrix) {
+        this(matrix, DEFAULT_SLICE_HEIGHT, DEFAULT_SORT_WINDOW);
+    }
+
+    public SellCSigmaMatrix(CSRMatrixMultiplication.CSRMatrix matrix, int sliceHeight, int sortWindow) {
+        if (sliceHeight < 1 || sortWindow < 1) {
+            throw new IllegalArgumentException("The slice height and sort window must be positive.");
+        }
+        this.rows = matrix.getRows();
+        this.cols = matrix.getCols();
+        this.sliceHeight = sliceHeight;
+        this.nonZeroCount = matrix.getNonZeroCount();
+        int[] rowPointers = matrix.getRowPointers();
+        int[] csrColumns = matrix.getColumnIndices();
+        double[] csrValues = matrix.getValues();
+
+        int sliceCount = (rows + sliceHeight - 1) / sliceHeight;
+        this.rowOrder = sortRows(rowPointers, rows, sortWindow, sliceCount * sliceHeight);
+        this.slicePointers = new int[sliceCount + 1];
+        this.sliceWidths = new int[sliceCount];
+        for (int s = 0; s < sliceCount; s++) {
+            int width = 0;
+            for (int r = 0; r < sliceHeight; r++) {
+                int row = rowOrder[s * sliceHeight + r];
+                if (row >= 0) {
+                    width = Math.max(width, rowPointers[row + 1] - rowPointers[row]);
+                }
+            }
+            sliceWidths[s] = width;
+            long end = slicePointers[s] + (long) width * sliceHeight;
+            if (end > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("The padded SELL-C-sigma storage does not fit in a single array.");
+            }
+            slicePointers[s + 1] = (int) end;
+        }
+
+        this.columnIndices = new int[slicePointers[sliceCount]];
+        this.values = new double[slicePointers[sliceCount]];
+        for (int s = 0; s < sliceCount; s++) {
+            for (int r = 0; r < sliceHeight; r++) {
+                int row = rowOrder[s * sliceHeight + r];
+                int length = row < 0 ? 0 : rowPointers[row + 1] - rowPointers[row];
+                int padColumn = length == 0 ? 0 : csrColumns[rowPointers[row] + length - 1];
+                for (int k = 0; k < sliceWidths[s]; k++) {
+                    int index = slicePointers[s] + k * sliceHeight + r;
+                    if (k < length) {
+                        columnIndices[index] = csrColumns[rowPointers[row] + k];
+                        values[index] = csrValues[rowPointers[row] + k];
+                    } else {
+                        columnIndices[index] = padColumn;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] sortRows(int[] rowPointers, int rows, int sortWindow, int paddedRows) {
+        Integer[] window = new Integer[Math.min(sortWindow, Math.max(rows, 1))];
+        int[] order = new int[paddedRows];
+        Arrays.fill(order, -1);
+        for (int start = 0; start < rows; start += sortWindow) {
+            int end = Math.min(start + sortWindow, rows);
+            int count = end - start;
+            for (int i = 0; i < count; i++) {
+                window[i] = start + i;
+            }
+            Arrays.sort(window, 0, count, (x, y) -> Integer.compare(
+                    rowPointers[y + 1] - rowPointers[y], rowPointers[x + 1] - rowPointers[x]));
+            for (int i = 0; i < count; i++) {
+                order[start + i] = window[i];
+            }
+        }
+        return order;
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        if (vector.length != cols || result.length != rows) {
+            throw new IllegalArgumentException("The vector lengths do not match the dimensions of the SELL-C-sigma matrix.");
+        }
+        boolean vectorized = VECTOR_LANES > 0 && sliceHeight % VECTOR_LANES == 0;
+        double[] sums = new double[sliceHeight];
+        for (int s = 0; s < sliceWidths.length; s++) {
+            if (vectorized) {
+                VectorSparseKernels.sellSlice(values, columnIndices, slicePointers[s], sliceWidths[s], sliceHeight, vector, sums);
+            } else {
+                Arrays.fill(sums, 0.0);
+                int index = slicePointers[s];
+                for (int k = 0; k < sliceWidths[s]; k++) {
+                    for (int r = 0; r < sliceHeight; r++) {
+                        sums[r] += values[index + r] * vector[columnIndices[index + r]];
+                    }
+                    index += sliceHeight;
+                }
+            }
+            int base = s * sliceHeight;
+            for (int r = 0; r < sliceHeight; r++) {
+                int row = rowOrder[base + r];
+                if (row >= 0) {
+                    result[row] = beta == 0.0 ? alpha * sums[r] : alpha * sums[r] + beta * result[row];
+                }
+            }
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows of the dense matrix does not match the columns of the SELL-C-sigma matrix.");
+        }
+        DenseMatrix.checkOutput(result, rows, cols == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        for (int s = 0; s < sliceWidths.length; s++) {
+            int base = s * sliceHeight;
+            for (int k = 0; k < sliceWidths[s]; k++) {
+                int index = slicePointers[s] + k * sliceHeight;
+                for (int r = 0; r < sliceHeight; r++) {
+                    double value = values[index + r];
+                    if (value == 0.0) {
+                        continue;
+                    }
+                    double scaled = alpha * value;
+                    double[] resultRow = result[rowOrder[base + r]];
+                    double[] denseRow = denseMatrix[columnIndices[index + r]];
+                    for (int j = 0; j < resultRow.length; j++) {
+                        resultRow[j] += scaled * denseRow[j];
+                    }
+                }
+            }
+        }
+    }
+
+    public double getPaddingRatio() {
+        return nonZeroCount == 0 ? 1.0 : (double) values.length / nonZeroCount;
+    }
+
+    public int getSliceHeight() {
+        return sliceHeight;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNonZeroCount() {
+        return nonZeroCount;
+    }
+}
@@ -1,61 +1,259 @@
 package org.example;
 
 public class SparseMatrixOptimizer {
+    private static final MatrixMetrics.Kernel[] KERNEL_METRICS = kernelMetrics();
+    private static final MatrixMetrics.Kernel CSR_DENSE_METRICS = MatrixMetrics.kernel("SparseMatrixOptimizer.multiplyWithCSRDenseMatrix");
+    private static final MatrixMetrics.Kernel CSC_DENSE_METRICS = MatrixMetrics.kernel("SparseMatrixOptimizer.multiplyWithCSCDenseMatrix");
+    private static final MatrixMetrics.Kernel CSR_CSR_METRICS = MatrixMetrics.kernel("SparseMatrixOptimizer.multiplyWithCSRSparseMatrix");
 
     private final CSRMatrixMultiplication.CSRMatrix csrMatrix;
-    private final CSCMatrixMultiplication cscMatrix;
-
+    private final MatrixProfile profile;
+    private final MatrixCostModel costModel;
+    private final ProductCache productCache;
+    private double[][] denseCopy;
+    private CSCMatrixMultiplication cscMatrix;
+    private ParallelSparseMultiplication parallelSparse;
+    private MatrixCostModel.Kernel lastKernel;
 
     public SparseMatrixOptimizer(double[][] denseMatrix) {
+        this(denseMatrix, null);
+    }
+
+    public SparseMatrixOptimizer(double[][] denseMatrix, MatrixCostModel costModel) {
+        this(denseMatrix, costModel, null);
+    }
+
+    public SparseMatrixOptimizer(double[][] denseMatrix, MatrixCostModel costModel, ProductCache productCache) {
         this.csrMatrix = new CSRMatrixMultiplication.CSRMatrix(denseMatrix);
-        this.cscMatrix = new CSCMatrixMultiplication(denseMatrix);
+        this.profile = MatrixProfile.of(csrMatrix);
+        this.costModel = costModel;
+        this.productCache = productCache;
+    }
+
+    private static MatrixMetrics.Kernel[] kernelMetrics() {
+        MatrixCostModel.Kernel[] kernels = MatrixCostModel.Kernel.values();
+        MatrixMetrics.Kernel[] metrics = new MatrixMetrics.Kernel[kernels.length];
+        for (int k = 0; k < kernels.length; k++) {
+            metrics[k] = MatrixMetrics.kernel("SparseMatrixOptimizer.multiply." + kernels[k].name());
+        }
+        return metrics;
+    }
+
+    private static void record(MatrixMetrics.Kernel metrics, MatrixMetrics.Sample sample, int rows, int cols,
+                               long nonZeros, double flops) {
+        metrics.stop(sample, flops, nonZeros, (long) rows * cols);
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        if (productCache != null) {
+            return productCache.getOrCompute(getFingerprint(), MatrixFingerprint.of(denseMatrix), () -> adaptive(denseMatrix));
+        }
+        return adaptive(denseMatrix);
+    }
+
+    private double[][] adaptive(double[][] denseMatrix) {
+        MatrixProfile left = getProfile();
+        MatrixProfile right = MatrixProfile.of(denseMatrix);
+        if (right.getRows() != left.getCols()) {
+            throw new IllegalArgumentException("The number of rows of the right matrix does not match the columns of the left matrix.");
+        }
+        MatrixCostModel model = costModel != null ? costModel : MatrixCostModel.calibrated();
+        MatrixCostModel.Kernel kernel = model.choose(left, right, true);
+        lastKernel = kernel;
+        MatrixMetrics.Sample sample = KERNEL_METRICS[kernel.ordinal()].start();
+        double[][] result;
+        switch (kernel) {
+            case DENSE_BLOCKED:
+                result = BlockMatrixMultiplication.multiply(dense(), denseMatrix, MatrixCostModel.BLOCK_SIZE);
+                break;
+            case DENSE_PARALLEL:
+                result = ParallelMatrixMultiplication.multiply(dense(), denseMatrix);
+                break;
+            case CSR_DENSE:
+                result = csrDense(denseMatrix);
+                break;
+            case CSR_DENSE_PARALLEL:
+                result = parallelSparse().multiply(csr(), denseMatrix);
+                break;
+            case CSR_CSR:
+                result = csr().multiply(new CSRMatrixMultiplication.CSRMatrix(denseMatrix)).toDense();
+                break;
+            default:
+                throw new IllegalStateException("Unknown kernel " + kernel);
+        }
+        record(KERNEL_METRICS[kernel.ordinal()], sample, left.getRows(), left.getCols(), left.getNonZeroCount(),
+                2.0 * left.getNonZeroCount() * right.getCols());
+        return result;
+    }
+
+    public MatrixFingerprint getFingerprint() {
+        return csr().getFingerprint();
+    }
+
+    public ProductCache getProductCache() {
+        return productCache;
+    }
+
+    public MatrixProfile getProfile() {
+        return profile;
+    }
+
+    public MatrixCostModel.Kernel getLastKernel() {
+        return lastKernel;
+    }
+
+    private CSRMatrixMultiplication.CSRMatrix csr() {
+        return csrMatrix;
+    }
+
+    private double[][] dense() {
+        if (denseCopy == null) {
+            denseCopy = csrMatrix.toDense();
+        }
+        return denseCopy;
+    }
+
+    private CSCMatrixMultiplication csc() {
+        if (cscMatrix == null) {
+            cscMatrix = csrMatrix.toCSC();
+        }
+        return cscMatrix;
+    }
+
+    private ParallelSparseMultiplication parallelSparse() {
+        if (parallelSparse == null) {
+            parallelSparse = new ParallelSparseMultiplication();
+        }
+        return parallelSparse;
     }
 
     public double[][] multiplyWithCSRDenseMatrix(double[][] denseMatrix) {
+        if (productCache != null) {
+            return productCache.getOrCompute(getFingerprint(), MatrixFingerprint.of(denseMatrix), () -> csrDense(denseMatrix));
+        }
+        return csrDense(denseMatrix);
+    }
+
+    private double[][] csrDense(double[][] denseMatrix) {
+        MatrixMetrics.Sample sample = CSR_DENSE_METRICS.start();
+        CSRMatrixMultiplication.CSRMatrix csrMatrix = csr();
         int rows = csrMatrix.getRows();
-        int cols = denseMatrix[0].length;
 
-        if (denseMatrix.length != rows) {
+        if (denseMatrix.length != csrMatrix.getCols()) {
             throw new IllegalArgumentException("El número de filas de la matriz densa no coincide con las columnas de la matriz CSR.");
         }
 
+        int cols = denseMatrix.length == 0 ? 0 : denseMatrix[0].length;
         double[][] result = new double[rows][cols];
+        accumulateCSRDenseMatrix(csrMatrix, denseMatrix, result, 1.0);
+        record(CSR_DENSE_METRICS, sample, rows, csrMatrix.getCols(), csrMatrix.getNonZeroCount(),
+                2.0 * csrMatrix.getNonZeroCount() * cols);
+        return result;
+    }
+
+    public void multiplyWithCSRDenseMatrixInto(double[][] result, double[][] denseMatrix) {
+        multiplyWithCSRDenseMatrixInto(result, denseMatrix, 1.0, 0.0);
+    }
+
+    public void multiplyWithCSRDenseMatrixInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        MatrixMetrics.Sample sample = CSR_DENSE_METRICS.start();
+        CSRMatrixMultiplication.CSRMatrix csrMatrix = csr();
+        if (denseMatrix.length != csrMatrix.getCols()) {
+            throw new IllegalArgumentException("El número de filas de la matriz densa no coincide con las columnas de la matriz CSR.");
+        }
+        DenseMatrix.checkOutput(result, csrMatrix.getRows(), denseMatrix.length == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        accumulateCSRDenseMatrix(csrMatrix, denseMatrix, result, alpha);
+        record(CSR_DENSE_METRICS, sample, csrMatrix.getRows(), csrMatrix.getCols(), csrMatrix.getNonZeroCount(),
+                2.0 * csrMatrix.getNonZeroCount() * (denseMatrix.length == 0 ? 0 : denseMatrix[0].length));
+    }
+
+    private static void accumulateCSRDenseMatrix(CSRMatrixMultiplication.CSRMatrix csrMatrix, double[][] denseMatrix,
+                                                 double[][] result, double alpha) {
+        int rows = csrMatrix.getRows();
         double[] values = csrMatrix.getValues();
         int[] columnIndices = csrMatrix.getColumnIndices();
         int[] rowPointers = csrMatrix.getRowPointers();
 
         for (int i = 0; i < rows; i++) {
+            double[] resultRow = result[i];
             for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
-                int colIndex = columnIndices[j];
-                for (int k = 0; k < cols; k++) {
-                    result[i][k] += values[j] * denseMatrix[colIndex][k];
+                double value = alpha * values[j];
+                double[] denseRow = denseMatrix[columnIndices[j]];
+                for (int k = 0; k < resultRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
                 }
             }
         }
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix multiplyWithCSRSparseMatrix(CSRMatrixMultiplication.CSRMatrix sparseMatrix) {
+        MatrixMetrics.Sample sample = CSR_CSR_METRICS.start();
+        CSRMatrixMultiplication.CSRMatrix csrMatrix = csr();
+        CSRMatrixMultiplication.CSRMatrix result = csrMatrix.multiply(sparseMatrix);
+        double rightRowNonZeros = sparseMatrix.getRows() == 0 ? 0.0 : (double) sparseMatrix.getNonZeroCount() / sparseMatrix.getRows();
+        record(CSR_CSR_METRICS, sample, csrMatrix.getRows(), csrMatrix.getCols(), csrMatrix.getNonZeroCount(),
+                2.0 * csrMatrix.getNonZeroCount() * rightRowNonZeros);
         return result;
     }
 
     public double[][] multiplyWithCSCDenseMatrix(double[][] denseMatrix) {
-        int rows = denseMatrix.length;
+        if (productCache != null) {
+            return productCache.getOrCompute(getFingerprint(), MatrixFingerprint.of(denseMatrix), () -> cscDense(denseMatrix));
+        }
+        return cscDense(denseMatrix);
+    }
+
+    private double[][] cscDense(double[][] denseMatrix) {
+        MatrixMetrics.Sample sample = CSC_DENSE_METRICS.start();
+        CSCMatrixMultiplication cscMatrix = csc();
         int cols = cscMatrix.getColCount();
 
-        if (denseMatrix[0].length != cols) {
-            throw new IllegalArgumentException("The number of columns in the dense matrix does not match the rows of the CSC matrix.");
+        if (denseMatrix.length != cols) {
+            throw new IllegalArgumentException("The number of rows in the dense matrix does not match the columns of the CSC matrix.");
+        }
+
+        int resultCols = denseMatrix.length == 0 ? 0 : denseMatrix[0].length;
+        double[][] result = new double[cscMatrix.getRowCount()][resultCols];
+        accumulateCSCDenseMatrix(cscMatrix, denseMatrix, result, 1.0);
+        record(CSC_DENSE_METRICS, sample, cscMatrix.getRowCount(), cols, cscMatrix.getNonZeroCount(),
+                2.0 * cscMatrix.getNonZeroCount() * resultCols);
+        return result;
+    }
+
+    public void multiplyWithCSCDenseMatrixInto(double[][] result, double[][] denseMatrix) {
+        multiplyWithCSCDenseMatrixInto(result, denseMatrix, 1.0, 0.0);
+    }
+
+    public void multiplyWithCSCDenseMatrixInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        MatrixMetrics.Sample sample = CSC_DENSE_METRICS.start();
+        CSCMatrixMultiplication cscMatrix = csc();
+        if (denseMatrix.length != cscMatrix.getColCount()) {
+            throw new IllegalArgumentException("The number of rows in the dense matrix does not match the columns of the CSC matrix.");
         }
+        DenseMatrix.checkOutput(result, cscMatrix.getRowCount(), denseMatrix.length == 0 ? 0 : denseMatrix[0].length);
+        DenseMatrix.scale(result, beta);
+        accumulateCSCDenseMatrix(cscMatrix, denseMatrix, result, alpha);
+        record(CSC_DENSE_METRICS, sample, cscMatrix.getRowCount(), cscMatrix.getColCount(), cscMatrix.getNonZeroCount(),
+                2.0 * cscMatrix.getNonZeroCount() * (denseMatrix.length == 0 ? 0 : denseMatrix[0].length));
+    }
 
-        double[][] result = new double[cscMatrix.getRowCount()][denseMatrix[0].length];
+    private static void accumulateCSCDenseMatrix(CSCMatrixMultiplication cscMatrix, double[][] denseMatrix,
+                                                 double[][] result, double alpha) {
+        int cols = cscMatrix.getColCount();
         double[] values = cscMatrix.getValues();
         int[] rowIndices = cscMatrix.getRowIndices();
         int[] colPointers = cscMatrix.getColPointers();
 
         for (int j = 0; j < cols; j++) {
+            double[] denseRow = denseMatrix[j];
             for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
-                int rowIndex = rowIndices[k];
-                for (int i = 0; i < denseMatrix[0].length; i++) {
-                    result[rowIndex][i] += values[k] * denseMatrix[j][i];
+                double[] resultRow = result[rowIndices[k]];
+                double value = alpha * values[k];
+                for (int i = 0; i < denseRow.length; i++) {
+                    resultRow[i] += value * denseRow[i];
                 }
             }
         }
-        return result;
     }
 }
@@ -0,0 +1,79 @@
+package org.example;
+
+final class SparseSegments {
+    private final int major;
+    private final int minor;
+    private final long nonZeroCount;
+    private final ChunkedBuffer pointers;
+    private final ChunkedBuffer indices;
+    private final ChunkedBuffer values;
+    private int written;
+    private long position;
+
+    SparseSegments(int major, int minor, long nonZeroCount, ChunkedBuffer pointers, ChunkedBuffer indices, ChunkedBuffer values) {
+        this.major = major;
+        this.minor = minor;
+        this.nonZeroCount = nonZeroCount;
+        this.pointers = pointers;
+        this.indices = indices;
+        this.values = values;
+    }
+
+    static SparseSegments allocateDirect(int major, int minor, long nonZeroCount) {
+        if (major < 0 || minor < 0 || nonZeroCount < 0) {
+            throw new IllegalArgumentException("Matrix dimensions must not be negative.");
+        }
+        ChunkedBuffer pointers = ChunkedBuffer.allocateDirect(((long) major + 1) * Long.BYTES);
+        ChunkedBuffer indices = null;
+        try {
+            indices = ChunkedBuffer.allocateDirect(nonZeroCount * Integer.BYTES);
+            return new SparseSegments(major, minor, nonZeroCount, pointers, indices,
+                    ChunkedBuffer.allocateDirect(nonZeroCount * Double.BYTES));
+        } catch (OutOfMemoryError e) {
+            pointers.release();
+            if (indices != null) {
+                indices.release();
+            }
+            throw e;
+        }
+    }
+
+    void append(int[] indexArray, double[] valueArray, int from, int count) {
+        if (written == major) {
+            throw new IllegalStateException("All " + major + " rows have already been written.");
+        }
+        if (position + count > nonZeroCount) {
+            throw new IllegalStateException("More than the declared " + nonZeroCount + " non-zeros were written.");
+        }
+        pointers.putLong(written, position);
+        for (int p = from; p < from + count; p++) {
+            int index = indexArray[p];
+            if (index < 0 || index >= minor) {
+                throw new IndexOutOfBoundsException("Index " + index + " is outside the range [0, " + minor + ").");
+            }
+            indices.putInt(position, index);
+            values.putDouble(position, valueArray[p]);
+            position++;
+        }
+        written++;
+    }
+
+    void finish() {
+        if (written != major || position != nonZeroCount) {
+            throw new IllegalStateException("Wrote " + written + " of " + major + " rows and " + position + " of " + nonZeroCount + " non-zeros.");
+        }
+        pointers.putLong(major, position);
+    }
+
+    ChunkedBuffer pointers() {
+        return pointers;
+    }
+
+    ChunkedBuffer indices() {
+        return indices;
+    }
+
+    ChunkedBuffer values() {
+        return values;
+    }
+}
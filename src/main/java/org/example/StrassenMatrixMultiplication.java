@@ -0,0 +1,266 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class StrassenMatrixMultiplication {
+    private static final int DEFAULT_THRESHOLD = 256;
+    private static final int LEAF_BLOCK_SIZE = 64;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public StrassenMatrixMultiplication() {
+        this(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    public StrassenMatrixMultiplication(int threshold) {
+        this(threshold, ForkJoinPool.commonPool());
+    }
+
+    public StrassenMatrixMultiplication(int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("The Strassen threshold must be positive.");
+        }
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public double[][] multiply(double[][] a, double[][] b) {
+        return multiply(new DenseMatrix(a), new DenseMatrix(b)).toArray();
+    }
+
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        int n = a.getRows();
+        if (a.getCols() != n || b.getCols() != n) {
+            return ParallelMatrixMultiplication.multiply(a, b);
+        }
+        DenseMatrix c = new DenseMatrix(n, n);
+        if (n <= threshold) {
+            leaf(a, b, c);
+        } else if (pool.getParallelism() > 1) {
+            pool.invoke(new StrassenTask(a, b, c, Workspace.parallel(n, threshold)));
+        } else {
+            multiply(a, b, c, Workspace.sequential(n, threshold));
+        }
+        return c;
+    }
+
+    private void multiply(DenseMatrix a, DenseMatrix b, DenseMatrix c, Workspace workspace) {
+        int n = a.getRows();
+        if (n <= threshold) {
+            leaf(a, b, c);
+            return;
+        }
+        int h = n / 2;
+        DenseMatrix a11 = a.subMatrix(0, 0, h, h), a12 = a.subMatrix(0, h, h, h);
+        DenseMatrix a21 = a.subMatrix(h, 0, h, h), a22 = a.subMatrix(h, h, h, h);
+        DenseMatrix b11 = b.subMatrix(0, 0, h, h), b12 = b.subMatrix(0, h, h, h);
+        DenseMatrix b21 = b.subMatrix(h, 0, h, h), b22 = b.subMatrix(h, h, h, h);
+        DenseMatrix c11 = c.subMatrix(0, 0, h, h), c12 = c.subMatrix(0, h, h, h);
+        DenseMatrix c21 = c.subMatrix(h, 0, h, h), c22 = c.subMatrix(h, h, h, h);
+        DenseMatrix x = workspace.buffers[0];
+        DenseMatrix y = workspace.buffers[1];
+        Workspace child = workspace.children[0];
+
+        subtract(a11, a21, x);
+        subtract(b22, b12, y);
+        multiply(x, y, c21, child);
+        add(a21, a22, x);
+        subtract(b12, b11, y);
+        multiply(x, y, c22, child);
+        subtract(x, a11, x);
+        subtract(b22, y, y);
+        multiply(x, y, c12, child);
+        subtract(a12, x, x);
+        multiply(x, b22, c11, child);
+        multiply(a11, b11, x, child);
+        add(x, c12, c12);
+        add(c12, c21, c21);
+        add(c12, c22, c12);
+        add(c21, c22, c22);
+        add(c12, c11, c12);
+        subtract(y, b21, y);
+        multiply(a22, y, c11, child);
+        subtract(c21, c11, c21);
+        multiply(a12, b21, c11, child);
+        add(x, c11, c11);
+
+        if ((n & 1) != 0) {
+            peel(a, b, c);
+        }
+    }
+
+    private class StrassenTask extends RecursiveAction {
+        private final DenseMatrix a, b, c;
+        private final Workspace workspace;
+
+        StrassenTask(DenseMatrix a, DenseMatrix b, DenseMatrix c, Workspace workspace) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.workspace = workspace;
+        }
+
+        @Override
+        protected void compute() {
+            int n = a.getRows();
+            int h = n / 2;
+            DenseMatrix a11 = a.subMatrix(0, 0, h, h), a12 = a.subMatrix(0, h, h, h);
+            DenseMatrix a21 = a.subMatrix(h, 0, h, h), a22 = a.subMatrix(h, h, h, h);
+            DenseMatrix b11 = b.subMatrix(0, 0, h, h), b12 = b.subMatrix(0, h, h, h);
+            DenseMatrix b21 = b.subMatrix(h, 0, h, h), b22 = b.subMatrix(h, h, h, h);
+            DenseMatrix c11 = c.subMatrix(0, 0, h, h), c12 = c.subMatrix(0, h, h, h);
+            DenseMatrix c21 = c.subMatrix(h, 0, h, h), c22 = c.subMatrix(h, h, h, h);
+            DenseMatrix[] t = workspace.buffers;
+            DenseMatrix s1 = t[0], s2 = t[1], s3 = t[2], s4 = t[3];
+            DenseMatrix t1 = t[4], t2 = t[5], t3 = t[6], t4 = t[7];
+            DenseMatrix p1 = t[8], p6 = t[9], p7 = t[10];
+
+            add(a21, a22, s1);
+            subtract(s1, a11, s2);
+            subtract(a11, a21, s3);
+            subtract(a12, s2, s4);
+            subtract(b12, b11, t1);
+            subtract(b22, t1, t2);
+            subtract(b22, b12, t3);
+            subtract(t2, b21, t4);
+
+            Workspace[] children = workspace.children;
+            invokeAll(
+                    new ProductTask(a11, b11, p1, children[0]),
+                    new ProductTask(a12, b21, c11, children[1]),
+                    new ProductTask(s4, b22, c12, children[2]),
+                    new ProductTask(a22, t4, c21, children[3]),
+                    new ProductTask(s1, t1, c22, children[4]),
+                    new ProductTask(s2, t2, p6, children[5]),
+                    new ProductTask(s3, t3, p7, children[6]));
+
+            add(c11, p1, c11);
+            add(p6, p1, p6);
+            add(p7, p6, p7);
+            add(c12, p6, c12);
+            add(c12, c22, c12);
+            add(c22, p7, c22);
+            subtract(p7, c21, c21);
+
+            if ((n & 1) != 0) {
+                peel(a, b, c);
+            }
+        }
+    }
+
+    private class ProductTask extends RecursiveAction {
+        private final DenseMatrix a, b, c;
+        private final Workspace workspace;
+
+        ProductTask(DenseMatrix a, DenseMatrix b, DenseMatrix c, Workspace workspace) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.workspace = workspace;
+        }
+
+        @Override
+        protected void compute() {
+            multiply(a, b, c, workspace);
+        }
+    }
+
+    private static void leaf(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        fill(c, 0.0);
+        BlockMatrixMultiplication.multiplyAccumulate(a, b, c, LEAF_BLOCK_SIZE);
+    }
+
+    private static void peel(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        int n = a.getRows();
+        int e = n - 1;
+        BlockMatrixMultiplication.multiplyAccumulate(
+                a.subMatrix(0, e, e, 1), b.subMatrix(e, 0, 1, e), c.subMatrix(0, 0, e, e), LEAF_BLOCK_SIZE);
+        DenseMatrix lastColumn = c.subMatrix(0, e, e, 1);
+        fill(lastColumn, 0.0);
+        BlockMatrixMultiplication.multiplyAccumulate(a.subMatrix(0, 0, e, n), b.subMatrix(0, e, n, 1), lastColumn, LEAF_BLOCK_SIZE);
+        DenseMatrix lastRow = c.subMatrix(e, 0, 1, n);
+        fill(lastRow, 0.0);
+        BlockMatrixMultiplication.multiplyAccumulate(a.subMatrix(e, 0, 1, n), b, lastRow, LEAF_BLOCK_SIZE);
+    }
+
+    private static void add(DenseMatrix x, DenseMatrix y, DenseMatrix result) {
+        double[] xd = x.getData(), yd = y.getData(), rd = result.getData();
+        int cols = result.getCols();
+        for (int i = 0; i < result.getRows(); i++) {
+            int xRow = x.getOffset() + i * x.getStride();
+            int yRow = y.getOffset() + i * y.getStride();
+            int rRow = result.getOffset() + i * result.getStride();
+            for (int j = 0; j < cols; j++) {
+                rd[rRow + j] = xd[xRow + j] + yd[yRow + j];
+            }
+        }
+    }
+
+    private static void subtract(DenseMatrix x, DenseMatrix y, DenseMatrix result) {
+        double[] xd = x.getData(), yd = y.getData(), rd = result.getData();
+        int cols = result.getCols();
+        for (int i = 0; i < result.getRows(); i++) {
+            int xRow = x.getOffset() + i * x.getStride();
+            int yRow = y.getOffset() + i * y.getStride();
+            int rRow = result.getOffset() + i * result.getStride();
+            for (int j = 0; j < cols; j++) {
+                rd[rRow + j] = xd[xRow + j] - yd[yRow + j];
+            }
+        }
+    }
+
+    private static void fill(DenseMatrix matrix, double value) {
+        double[] data = matrix.getData();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            int row = matrix.getOffset() + i * matrix.getStride();
+            Arrays.fill(data, row, row + matrix.getCols(), value);
+        }
+    }
+
+    private static class Workspace {
+        private static final int SEQUENTIAL_BUFFERS = 2;
+        private static final int PARALLEL_BUFFERS = 11;
+        private static final int PRODUCTS = 7;
+
+        private final DenseMatrix[] buffers;
+        private final Workspace[] children;
+
+        private Workspace(DenseMatrix[] buffers, Workspace[] children) {
+            this.buffers = buffers;
+            this.children = children;
+        }
+
+        static Workspace sequential(int n, int threshold) {
+            if (n <= threshold) {
+                return null;
+            }
+            int h = n / 2;
+            return new Workspace(allocate(SEQUENTIAL_BUFFERS, h), new Workspace[]{sequential(h, threshold)});
+        }
+
+        static Workspace parallel(int n, int threshold) {
+            int h = n / 2;
+            Workspace[] children = new Workspace[PRODUCTS];
+            for (int i = 0; i < PRODUCTS; i++) {
+                children[i] = sequential(h, threshold);
+            }
+            return new Workspace(allocate(PARALLEL_BUFFERS, h), children);
+        }
+
+        private static DenseMatrix[] allocate(int count, int size) {
+            DenseMatrix[] buffers = new DenseMatrix[count];
+            for (int i = 0; i < count; i++) {
+                buffers[i] = new DenseMatrix(size, size);
+            }
+            return buffers;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+public class TiledMatrixMultiplication {
+
+    public static double[][] multiply(double[][] a, double[][] b) {
+        return multiply(new DenseMatrix(a), new DenseMatrix(b)).toArray();
+    }
+
+    public static DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        return multiply(a, b, GemmAutoTuner.parameters());
+    }
+
+    public static DenseMatrix multiply(DenseMatrix a, DenseMatrix b, GemmParameters parameters) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix c = new DenseMatrix(a.getRows(), b.getCols());
+        multiplyAccumulate(a, b, c, VectorMatrixMultiplication.preferredKernel(), parameters);
+        return c;
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, double alpha, double beta, MatrixWorkspace workspace) {
+        multiplyInto(c, a, b, alpha, beta, GemmAutoTuner.parameters(), workspace);
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, double alpha, double beta,
+                                    GemmParameters parameters, MatrixWorkspace workspace) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix.checkOutput(c, a.getRows(), b.getCols());
+        c.scale(beta);
+        multiplyAccumulate(a, b, c, alpha, VectorMatrixMultiplication.preferredKernel(), parameters, workspace);
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, MicroKernel kernel, GemmParameters parameters) {
+        multiplyAccumulate(a, b, c, 1.0, kernel, parameters, new MatrixWorkspace());
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, MicroKernel kernel,
+                                   GemmParameters parameters, MatrixWorkspace workspace) {
+        int m = a.getRows(), n = b.getCols(), inner = a.getCols();
+        if (m == 0 || n == 0 || inner == 0) {
+            return;
+        }
+        int mr = kernel.rowsPerPanel();
+        int nr = kernel.colsPerPanel();
+        int mcBlock = roundUp(parameters.getMc(), mr);
+        int kcBlock = parameters.getKc();
+        int ncBlock = roundUp(parameters.getNc(), nr);
+        int kc = Math.min(kcBlock, inner);
+        int mc = Math.min(mcBlock, m);
+        int nc = Math.min(ncBlock, n);
+        double[] packedA = workspace.packedA(kc * GemmPacking.panelCount(mc, mr) * mr);
+        double[] packedB = workspace.packedB(kc * GemmPacking.panelCount(nc, nr) * nr);
+        double[] edge = workspace.edge(mr * nr);
+        for (int jc = 0; jc < n; jc += ncBlock) {
+            int cols = Math.min(ncBlock, n - jc);
+            for (int pc = 0; pc < inner; pc += kcBlock) {
+                int depth = Math.min(kcBlock, inner - pc);
+                GemmPacking.packB(b, pc, depth, jc, cols, nr, packedB);
+                for (int ic = 0; ic < m; ic += mcBlock) {
+                    int rows = Math.min(mcBlock, m - ic);
+                    GemmPacking.packA(a, ic, rows, pc, depth, mr, alpha, packedA);
+                    GemmPacking.macroKernel(kernel, depth, rows, cols, packedA, packedB, c, ic, jc, edge);
+                }
+            }
+        }
+    }
+
+    private static int roundUp(int value, int multiple) {
+        long rounded = ((long) value + multiple - 1) / multiple * multiple;
+        return (int) Math.min(rounded, Integer.MAX_VALUE / multiple * multiple);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example;
+
+import java.util.Arrays;
+
+public class TransposedMatrixMultiplication {
+    private static final int BLOCK_SIZE = 64;
+    private static final int INNER_BLOCK_SIZE = 256;
+
+    public static double[][] multiply(double[][] a, boolean transA, double[][] b, boolean transB) {
+        int rows = transA ? cols(a) : a.length;
+        int cols = transB ? b.length : cols(b);
+        double[][] c = new double[rows][cols];
+        multiplyInto(c, a, transA, b, transB, 1.0, 0.0);
+        return c;
+    }
+
+    public static void multiplyInto(double[][] c, double[][] a, boolean transA, double[][] b, boolean transB,
+                                    double alpha, double beta) {
+        int rows = transA ? cols(a) : a.length;
+        int inner = transA ? a.length : cols(a);
+        int bInner = transB ? cols(b) : b.length;
+        int cols = transB ? b.length : cols(b);
+        if (inner != bInner) {
+            throw new IllegalArgumentException("The inner dimensions of op(A) and op(B) do not match: " + inner + " and " + bInner + ".");
+        }
+        DenseMatrix.checkOutput(c, rows, cols);
+        if (transA && transB) {
+            multiplyTT(c, a, b, alpha, beta, rows);
+            return;
+        }
+        DenseMatrix.scale(c, beta);
+        if (transA) {
+            multiplyTN(c, a, b, alpha);
+        } else if (transB) {
+            multiplyNT(c, a, b, alpha);
+        } else {
+            multiplyNN(c, a, b, alpha);
+        }
+    }
+
+    private static int cols(double[][] matrix) {
+        return matrix.length == 0 ? 0 : matrix[0].length;
+    }
+
+    private static void multiplyNN(double[][] c, double[][] a, double[][] b, double alpha) {
+        for (int i = 0; i < c.length; i++) {
+            double[] aRow = a[i];
+            double[] cRow = c[i];
+            for (int k = 0; k < b.length; k++) {
+                double aik = alpha * aRow[k];
+                double[] bRow = b[k];
+                for (int j = 0; j < cRow.length; j++) {
+                    cRow[j] += aik * bRow[j];
+                }
+            }
+        }
+    }
+
+    private static void multiplyTN(double[][] c, double[][] a, double[][] b, double alpha) {
+        for (int i0 = 0; i0 < c.length; i0 += BLOCK_SIZE) {
+            int i1 = Math.min(i0 + BLOCK_SIZE, c.length);
+            for (int k = 0; k < a.length; k++) {
+                double[] aRow = a[k];
+                double[] bRow = b[k];
+                for (int i = i0; i < i1; i++) {
+                    double aki = alpha * aRow[i];
+                    double[] cRow = c[i];
+                    for (int j = 0; j < cRow.length; j++) {
+                        cRow[j] += aki * bRow[j];
+                    }
+                }
+            }
+        }
+    }
+
+    private static void multiplyNT(double[][] c, double[][] a, double[][] b, double alpha) {
+        int inner = cols(a);
+        for (int k0 = 0; k0 < inner; k0 += INNER_BLOCK_SIZE) {
+            int k1 = Math.min(k0 + INNER_BLOCK_SIZE, inner);
+            for (int j0 = 0; j0 < b.length; j0 += BLOCK_SIZE) {
+                int j1 = Math.min(j0 + BLOCK_SIZE, b.length);
+                for (int i = 0; i < c.length; i++) {
+                    double[] aRow = a[i];
+                    double[] cRow = c[i];
+                    int j = j0;
+                    for (; j + 3 < j1; j += 4) {
+                        double[] b0 = b[j], b1 = b[j + 1], b2 = b[j + 2], b3 = b[j + 3];
+                        double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
+                        for (int k = k0; k < k1; k++) {
+                            double aik = aRow[k];
+                            sum0 += aik * b0[k];
+                            sum1 += aik * b1[k];
+                            sum2 += aik * b2[k];
+                            sum3 += aik * b3[k];
+                        }
+                        cRow[j] += alpha * sum0;
+                        cRow[j + 1] += alpha * sum1;
+                        cRow[j + 2] += alpha * sum2;
+                        cRow[j + 3] += alpha * sum3;
+                    }
+                    for (; j < j1; j++) {
+                        double[] bRow = b[j];
+                        double sum = 0.0;
+                        for (int k = k0; k < k1; k++) {
+                            sum += aRow[k] * bRow[k];
+                        }
+                        cRow[j] += alpha * sum;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void multiplyTT(double[][] c, double[][] a, double[][] b, double alpha, double beta, int rows) {
+        double[] column = new double[rows];
+        for (int j = 0; j < b.length; j++) {
+            double[] bRow = b[j];
+            Arrays.fill(column, 0.0);
+            for (int k = 0; k < a.length; k++) {
+                double bjk = bRow[k];
+                double[] aRow = a[k];
+                for (int i = 0; i < rows; i++) {
+                    column[i] += bjk * aRow[i];
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                c[i][j] = beta == 0.0 ? alpha * column[i] : alpha * column[i] + beta * c[i][j];
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class UpdatableCSRMatrix {
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+    private static final int COMPACTION_DIVISOR = 8;
+
+    private final int rows;
+    private final int cols;
+    private final Executor compactionExecutor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private CSRMatrixMultiplication.CSRMatrix base;
+    private LongDoubleHashMap frozen;
+    private LongDoubleHashMap active = new LongDoubleHashMap();
+    private MatrixFingerprint fingerprint;
+    private boolean compacting;
+    private long compactions;
+
+    public UpdatableCSRMatrix(int rows, int cols) {
+        this(new CSRMatrixMultiplication.CSRMatrix(rows, cols, new double[0], new int[0], new int[rows + 1]));
+    }
+
+    public UpdatableCSRMatrix(CSRMatrixMultiplication.CSRMatrix base) {
+        this(base, ForkJoinPool.commonPool());
+    }
+
+    public UpdatableCSRMatrix(CSRMatrixMultiplication.CSRMatrix base, Executor compactionExecutor) {
+        this.rows = base.getRows();
+        this.cols = base.getCols();
+        this.base = base;
+        this.compactionExecutor = compactionExecutor;
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+    private void checkBounds(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Entry (" + row + ", " + col + ") is outside a " + rows + "x" + cols + " matrix.");
+        }
+    }
+
+    private static double baseValue(CSRMatrixMultiplication.CSRMatrix matrix, int row, int col) {
+        int[] rowPointers = matrix.getRowPointers();
+        int position = Arrays.binarySearch(matrix.getColumnIndices(), rowPointers[row], rowPointers[row + 1], col);
+        return position >= 0 ? matrix.getValues()[position] : 0.0;
+    }
+
+    private double underlyingValue(int row, int col) {
+        long key = key(row, col);
+        if (frozen != null && frozen.containsKey(key)) {
+            return frozen.get(key, 0.0);
+        }
+        return baseValue(base, row, col);
+    }
+
+    private double currentValue(int row, int col) {
+        long key = key(row, col);
+        return active.containsKey(key) ? active.get(key, 0.0) : underlyingValue(row, col);
+    }
+
+    public void set(int row, int col, double value) {
+        update(row, col, value, false);
+    }
+
+    public void add(int row, int col, double value) {
+        update(row, col, value, true);
+    }
+
+    private void update(int row, int col, double value, boolean accumulate) {
+        checkBounds(row, col);
+        boolean schedule;
+        lock.writeLock().lock();
+        try {
+            long key = key(row, col);
+            double underlying = underlyingValue(row, col);
+            double current = active.containsKey(key) ? active.get(key, 0.0) : underlying;
+            double updated = accumulate ? current + value : value;
+            active.put(key, updated, updated - underlying);
+            if (fingerprint != null) {
+                fingerprint = fingerprint.update(row, col, current, updated);
+            }
+            schedule = !compacting && active.size() >= compactionThreshold();
+            if (schedule) {
+                compacting = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (schedule) {
+            compactionExecutor.execute(this::runCompaction);
+        }
+    }
+
+    public void remove(int row, int col) {
+        set(row, col, 0.0);
+    }
+
+    public double get(int row, int col) {
+        checkBounds(row, col);
+        lock.readLock().lock();
+        try {
+            return currentValue(row, col);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public MatrixFingerprint getFingerprint() {
+        lock.readLock().lock();
+        try {
+            if (fingerprint != null) {
+                return fingerprint;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (fingerprint == null) {
+                MatrixFingerprint result = base.getFingerprint();
+                result = applyFingerprint(result, frozen, active);
+                fingerprint = applyFingerprint(result, active, null);
+            }
+            return fingerprint;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private MatrixFingerprint applyFingerprint(MatrixFingerprint result, LongDoubleHashMap delta, LongDoubleHashMap shadowed) {
+        if (delta == null) {
+            return result;
+        }
+        for (int slot = 0; slot < delta.capacity(); slot++) {
+            if (delta.isOccupied(slot) && (shadowed == null || !shadowed.containsKey(delta.keyAt(slot)))) {
+                long key = delta.keyAt(slot);
+                int row = (int) (key >>> 32);
+                int col = (int) key;
+                result = result.update(row, col, baseValue(base, row, col), delta.valueAt(slot));
+            }
+        }
+        return result;
+    }
+
+    private int compactionThreshold() {
+        return Math.max(MIN_COMPACTION_THRESHOLD, base.getNonZeroCount() / COMPACTION_DIVISOR);
+    }
+
+    public double[] multiply(double[] vector) {
+        double[] result = new double[rows];
+        multiplyInto(result, vector, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[] result, double[] vector) {
+        multiplyInto(result, vector, 1.0, 0.0);
+    }
+
+    public void multiplyInto(double[] result, double[] vector, double alpha, double beta) {
+        lock.readLock().lock();
+        try {
+            base.multiplyInto(result, vector, alpha, beta);
+            applyDelta(frozen, result, vector, alpha);
+            applyDelta(active, result, vector, alpha);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void applyDelta(LongDoubleHashMap delta, double[] result, double[] vector, double alpha) {
+        if (delta == null || delta.size() == 0) {
+            return;
+        }
+        for (int slot = 0; slot < delta.capacity(); slot++) {
+            if (delta.isOccupied(slot)) {
+                long key = delta.keyAt(slot);
+                result[(int) (key >>> 32)] += alpha * delta.correctionAt(slot) * vector[(int) key];
+            }
+        }
+    }
+
+    public double[][] multiply(double[][] denseMatrix) {
+        double[][] result = new double[rows][denseMatrix.length == 0 ? 0 : denseMatrix[0].length];
+        multiplyInto(result, denseMatrix, 1.0, 0.0);
+        return result;
+    }
+
+    public void multiplyInto(double[][] result, double[][] denseMatrix, double alpha, double beta) {
+        lock.readLock().lock();
+        try {
+            base.multiplyInto(result, denseMatrix, alpha, beta);
+            applyDelta(frozen, result, denseMatrix, alpha);
+            applyDelta(active, result, denseMatrix, alpha);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void applyDelta(LongDoubleHashMap delta, double[][] result, double[][] denseMatrix, double alpha) {
+        if (delta == null || delta.size() == 0) {
+            return;
+        }
+        for (int slot = 0; slot < delta.capacity(); slot++) {
+            if (delta.isOccupied(slot)) {
+                long key = delta.keyAt(slot);
+                double value = alpha * delta.correctionAt(slot);
+                double[] resultRow = result[(int) (key >>> 32)];
+                double[] denseRow = denseMatrix[(int) key];
+                for (int k = 0; k < resultRow.length; k++) {
+                    resultRow[k] += value * denseRow[k];
+                }
+            }
+        }
+    }
+
+    public void compact() {
+        runCompaction();
+    }
+
+    private void runCompaction() {
+        compactionLock.lock();
+        try {
+            CSRMatrixMultiplication.CSRMatrix current;
+            LongDoubleHashMap delta;
+            lock.writeLock().lock();
+            try {
+                if (active.size() == 0) {
+                    compacting = false;
+                    return;
+                }
+                current = base;
+                delta = active;
+                frozen = delta;
+                active = new LongDoubleHashMap();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            CSRMatrixMultiplication.CSRMatrix merged = null;
+            try {
+                merged = merge(current, delta);
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (merged != null) {
+                        base = merged;
+                        compactions++;
+                    } else {
+                        LongDoubleHashMap pending = active;
+                        active = frozen;
+                        for (int slot = 0; slot < pending.capacity(); slot++) {
+                            if (pending.isOccupied(slot)) {
+                                long key = pending.keyAt(slot);
+                                double value = pending.valueAt(slot);
+                                active.put(key, value, value - baseValue(base, (int) (key >>> 32), (int) key));
+                            }
+                        }
+                    }
+                    frozen = null;
+                    compacting = false;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    static CSRMatrixMultiplication.CSRMatrix merge(CSRMatrixMultiplication.CSRMatrix base, LongDoubleHashMap delta) {
+        int rows = base.getRows();
+        long[] keys = delta.sortedKeys();
+        int[] rowPointers = base.getRowPointers();
+        int[] columnIndices = base.getColumnIndices();
+        double[] values = base.getValues();
+        long capacity = (long) base.getNonZeroCount() + keys.length;
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("The compacted matrix does not fit in a CSR matrix.");
+        }
+        int[] mergedPointers = new int[rows + 1];
+        int[] mergedColumns = new int[(int) capacity];
+        double[] mergedValues = new double[(int) capacity];
+        int index = 0;
+        int d = 0;
+        for (int i = 0; i < rows; i++) {
+            int p = rowPointers[i];
+            int end = rowPointers[i + 1];
+            while (p < end || (d < keys.length && (int) (keys[d] >>> 32) == i)) {
+                boolean fromDelta = d < keys.length && (int) (keys[d] >>> 32) == i;
+                int deltaCol = fromDelta ? (int) keys[d] : Integer.MAX_VALUE;
+                int col;
+                double value;
+                if (p < end && columnIndices[p] < deltaCol) {
+                    col = columnIndices[p];
+                    value = values[p++];
+                } else if (p < end && columnIndices[p] == deltaCol) {
+                    col = deltaCol;
+                    p++;
+                    value = delta.get(keys[d++], 0.0);
+                } else {
+                    col = deltaCol;
+                    value = delta.get(keys[d++], 0.0);
+                }
+                if (value != 0.0) {
+                    mergedColumns[index] = col;
+                    mergedValues[index++] = value;
+                }
+            }
+            mergedPointers[i + 1] = index;
+        }
+        return new CSRMatrixMultiplication.CSRMatrix(base.getRows(), base.getCols(),
+                Arrays.copyOf(mergedValues, index), Arrays.copyOf(mergedColumns, index), mergedPointers);
+    }
+
+    public CSRMatrixMultiplication.CSRMatrix toCSR() {
+        compactionLock.lock();
+        try {
+            runCompaction();
+            lock.readLock().lock();
+            try {
+                if (active.size() == 0) {
+                    return base;
+                }
+                return merge(base, active);
+            } finally {
+                lock.readLock().unlock();
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    public int getPendingUpdates() {
+        lock.readLock().lock();
+        try {
+            return active.size() + (frozen == null ? 0 : frozen.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getCompactionCount() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example;
+
+public class VectorMatrixMultiplication {
+    private static final GemmParameters DEFAULT_PARAMETERS = new GemmParameters(128, 256, Integer.MAX_VALUE);
+    private static final boolean VECTORIZED;
+    private static final MicroKernel KERNEL;
+
+    static {
+        MicroKernel kernel = new ScalarMicroKernel();
+        boolean vectorized = false;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                kernel = new VectorMicroKernel();
+                vectorized = true;
+            } catch (LinkageError e) {
+                kernel = new ScalarMicroKernel();
+            }
+        }
+        KERNEL = kernel;
+        VECTORIZED = vectorized;
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    static MicroKernel preferredKernel() {
+        return KERNEL;
+    }
+
+    public static double[][] multiply(double[][] a, double[][] b) {
+        return multiply(new DenseMatrix(a), new DenseMatrix(b)).toArray();
+    }
+
+    public static DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix.checkMultiplicable(a, b);
+        DenseMatrix c = new DenseMatrix(a.getRows(), b.getCols());
+        multiplyAccumulate(a, b, c, KERNEL);
+        return c;
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b) {
+        multiplyInto(c, a, b, 1.0, 0.0, new MatrixWorkspace());
+    }
+
+    public static void multiplyInto(DenseMatrix c, DenseMatrix a, DenseMatrix b, double alpha, double beta, MatrixWorkspace workspace) {
+        TiledMatrixMultiplication.multiplyInto(c, a, b, alpha, beta, DEFAULT_PARAMETERS, workspace);
+    }
+
+    static void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, MicroKernel kernel) {
+        TiledMatrixMultiplication.multiplyAccumulate(a, b, c, kernel, DEFAULT_PARAMETERS);
+    }
+}
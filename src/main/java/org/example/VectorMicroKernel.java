@@ -0,0 +1,56 @@
+package org.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+class VectorMicroKernel implements MicroKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int ROWS = 4;
+    private static final int COLS = 2 * LANES;
+
+    @Override
+    public int rowsPerPanel() {
+        return ROWS;
+    }
+
+    @Override
+    public int colsPerPanel() {
+        return COLS;
+    }
+
+    @Override
+    public void compute(int depth, double[] packedA, int aOffset, double[] packedB, int bOffset, double[] c, int cOffset, int cStride) {
+        DoubleVector c00 = DoubleVector.zero(SPECIES), c01 = DoubleVector.zero(SPECIES);
+        DoubleVector c10 = DoubleVector.zero(SPECIES), c11 = DoubleVector.zero(SPECIES);
+        DoubleVector c20 = DoubleVector.zero(SPECIES), c21 = DoubleVector.zero(SPECIES);
+        DoubleVector c30 = DoubleVector.zero(SPECIES), c31 = DoubleVector.zero(SPECIES);
+        for (int p = 0; p < depth; p++) {
+            DoubleVector b0 = DoubleVector.fromArray(SPECIES, packedB, bOffset);
+            DoubleVector b1 = DoubleVector.fromArray(SPECIES, packedB, bOffset + LANES);
+            DoubleVector a = DoubleVector.broadcast(SPECIES, packedA[aOffset]);
+            c00 = b0.fma(a, c00);
+            c01 = b1.fma(a, c01);
+            a = DoubleVector.broadcast(SPECIES, packedA[aOffset + 1]);
+            c10 = b0.fma(a, c10);
+            c11 = b1.fma(a, c11);
+            a = DoubleVector.broadcast(SPECIES, packedA[aOffset + 2]);
+            c20 = b0.fma(a, c20);
+            c21 = b1.fma(a, c21);
+            a = DoubleVector.broadcast(SPECIES, packedA[aOffset + 3]);
+            c30 = b0.fma(a, c30);
+            c31 = b1.fma(a, c31);
+            aOffset += ROWS;
+            bOffset += COLS;
+        }
+        accumulate(c00, c01, c, cOffset);
+        accumulate(c10, c11, c, cOffset + cStride);
+        accumulate(c20, c21, c, cOffset + 2 * cStride);
+        accumulate(c30, c31, c, cOffset + 3 * cStride);
+    }
+
+    private static void accumulate(DoubleVector low, DoubleVector high, double[] c, int offset) {
+        low.add(DoubleVector.fromArray(SPECIES, c, offset)).intoArray(c, offset);
+        high.add(DoubleVector.fromArray(SPECIES, c, offset + LANES)).intoArray(c, offset + LANES);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+class VectorSparseKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    static int lanes() {
+        return LANES;
+    }
+
+    static void sellSlice(double[] values, int[] columnIndices, int offset, int width, int sliceHeight, double[] vector, double[] sums) {
+        for (int r = 0; r < sliceHeight; r += LANES) {
+            DoubleVector sum = DoubleVector.zero(SPECIES);
+            int index = offset + r;
+            for (int k = 0; k < width; k++) {
+                DoubleVector value = DoubleVector.fromArray(SPECIES, values, index);
+                DoubleVector x = DoubleVector.fromArray(SPECIES, vector, 0, columnIndices, index);
+                sum = value.fma(x, sum);
+                index += sliceHeight;
+            }
+            sum.intoArray(sums, r);
+        }
+    }
+}
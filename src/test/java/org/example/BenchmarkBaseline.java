@@ -0,0 +1,312 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class BenchmarkBaseline {
+    public static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_NOISE_BYTES = 64.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkBaseline <result.json> <baseline.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        List<String> regressions = compare(Paths.get(args[0]), Paths.get(args[1]), threshold);
+        System.exit(regressions.isEmpty() ? 0 : 1);
+    }
+
+    public static List<String> compare(Path result, Path baseline, double thresholdPercent) throws IOException {
+        if (thresholdPercent < 0) {
+            throw new IllegalArgumentException("The regression threshold must not be negative.");
+        }
+        Map<String, Entry> current = read(result);
+        Map<String, Entry> reference = read(baseline);
+        List<String> regressions = new ArrayList<>();
+        int compared = 0;
+        for (Map.Entry<String, Entry> item : current.entrySet()) {
+            Entry before = reference.get(item.getKey());
+            if (before == null) {
+                System.out.println("NEW         " + item.getKey());
+                continue;
+            }
+            Entry after = item.getValue();
+            compared++;
+            double change = percentChange(before.score, after.score);
+            boolean worse = after.higherIsBetter ? -change > thresholdPercent : change > thresholdPercent;
+            report(regressions, worse, item.getKey(), before.score, after.score, change, after.unit);
+            if (!Double.isNaN(before.allocation) && !Double.isNaN(after.allocation)) {
+                double allocationChange = percentChange(before.allocation, after.allocation);
+                boolean allocationWorse = allocationChange > thresholdPercent
+                        && after.allocation - before.allocation > ALLOCATION_NOISE_BYTES;
+                report(regressions, allocationWorse, item.getKey() + " [" + ALLOCATION_METRIC + "]",
+                        before.allocation, after.allocation, allocationChange, "B/op");
+            }
+        }
+        for (String key : reference.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("MISSING     " + key);
+            }
+        }
+        System.out.printf("Compared %d benchmarks against %s: %d regressions above %.1f%%%n",
+                compared, baseline, regressions.size(), thresholdPercent);
+        return regressions;
+    }
+
+    private static double percentChange(double before, double after) {
+        if (before == 0.0) {
+            return after == 0.0 ? 0.0 : Double.POSITIVE_INFINITY;
+        }
+        return (after - before) / Math.abs(before) * 100.0;
+    }
+
+    private static void report(List<String> regressions, boolean worse, String key, double before, double after,
+                               double change, String unit) {
+        String line = String.format("%-11s %s: %.4g -> %.4g %s (%+.1f%%)",
+                worse ? "REGRESSION" : "OK", key, before, after, unit, change);
+        if (worse) {
+            regressions.add(line);
+        }
+        System.out.println(line);
+    }
+
+    static Map<String, Entry> read(Path path) throws IOException {
+        Object root = new JsonReader(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).readDocument();
+        if (!(root instanceof List)) {
+            throw new IOException("Expected a JMH JSON result array in " + path + ".");
+        }
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (Object item : (List<?>) root) {
+            Map<?, ?> run = (Map<?, ?>) item;
+            StringBuilder key = new StringBuilder((String) run.get("benchmark"));
+            Object params = run.get("params");
+            if (params instanceof Map) {
+                for (Map.Entry<?, ?> param : new TreeMap<>((Map<?, ?>) params).entrySet()) {
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue());
+                }
+            }
+            Map<?, ?> primary = (Map<?, ?>) run.get("primaryMetric");
+            double allocation = Double.NaN;
+            Object secondary = run.get("secondaryMetrics");
+            if (secondary instanceof Map) {
+                for (Map.Entry<?, ?> metric : ((Map<?, ?>) secondary).entrySet()) {
+                    if (((String) metric.getKey()).endsWith(ALLOCATION_METRIC)) {
+                        allocation = number(((Map<?, ?>) metric.getValue()).get("score"));
+                    }
+                }
+            }
+            entries.put(key.toString(), new Entry(number(primary.get("score")), (String) primary.get("scoreUnit"),
+                    "thrpt".equals(run.get("mode")), allocation));
+        }
+        return entries;
+    }
+
+    private static double number(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return value == null ? Double.NaN : Double.parseDouble(value.toString());
+    }
+
+    static class Entry {
+        private final double score;
+        private final String unit;
+        private final boolean higherIsBetter;
+        private final double allocation;
+
+        Entry(double score, String unit, boolean higherIsBetter, double allocation) {
+            this.score = score;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+            this.allocation = allocation;
+        }
+    }
+
+    private static class JsonReader {
+        private final String text;
+        private int position;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        Object readDocument() throws IOException {
+            Object value = readValue();
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("Unexpected trailing content");
+            }
+            return value;
+        }
+
+        private Object readValue() throws IOException {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = text.charAt(position);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    return readLiteral("true", Boolean.TRUE);
+                case 'f':
+                    return readLiteral("false", Boolean.FALSE);
+                case 'n':
+                    return readLiteral("null", null);
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() throws IOException {
+            Map<String, Object> object = new LinkedHashMap<>();
+            position++;
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("Expected a field name");
+                }
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(name, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    expect('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> readArray() throws IOException {
+            List<Object> array = new ArrayList<>();
+            position++;
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return array;
+            }
+            while (true) {
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    expect(']');
+                    return array;
+                }
+            }
+        }
+
+        private String readString() throws IOException {
+            StringBuilder builder = new StringBuilder();
+            position++;
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default:
+                        builder.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object readLiteral(String literal, Object value) throws IOException {
+            if (!text.startsWith(literal, position)) {
+                throw error("Unexpected token");
+            }
+            position += literal.length();
+            return value;
+        }
+
+        private Double readNumber() throws IOException {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Unexpected character '" + text.charAt(position) + "'");
+            }
+            return Double.parseDouble(text.substring(start, position));
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() throws IOException {
+            if (position >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            return text.charAt(position);
+        }
+
+        private void expect(char c) throws IOException {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            position++;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at offset " + position + ".");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkBatchMultiplication {
+    private static final int BATCH_SIZE = 1000;
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"10", "50", "100"})
+        private int size;
+
+        private List<BatchMultiplicationService.Product> products;
+        private BatchMultiplicationService service;
+
+        @Setup
+        public void setup() {
+            products = new ArrayList<>(BATCH_SIZE);
+            for (int p = 0; p < BATCH_SIZE; p++) {
+                products.add(new BatchMultiplicationService.Product(
+                        BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 2L * p),
+                        BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 2L * p + 1)));
+            }
+            service = new BatchMultiplicationService();
+        }
+
+        @TearDown
+        public void tearDown() {
+            service.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<double[][]> perProductParallel(Operands operands) {
+        List<double[][]> results = new ArrayList<>(BATCH_SIZE);
+        for (BatchMultiplicationService.Product product : operands.products) {
+            results.add(ParallelMatrixMultiplication.multiply(product.getA(), product.getB()));
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<double[][]> batched(Operands operands) {
+        return operands.service.multiplyAll(operands.products);
+    }
+}
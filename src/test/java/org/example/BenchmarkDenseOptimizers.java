@@ -1,15 +1,12 @@
 package org.example;
 
 import org.openjdk.jmh.annotations.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
-@BenchmarkMode(Mode.AverageTime)
-@OutputTimeUnit(TimeUnit.MILLISECONDS)
-@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.MILLISECONDS)
-@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
 @Fork(1)
 public class BenchmarkDenseOptimizers {
 
@@ -20,87 +17,60 @@ public class BenchmarkDenseOptimizers {
 
         private double[][] denseMatrixA;
         private double[][] denseMatrixB;
-        private List<Long> memoryUsages;
+        private DenseMatrix flatMatrixA;
+        private DenseMatrix flatMatrixB;
+        private double flops;
+        private double bytes;
 
         @Setup
         public void setup() {
-            denseMatrixA = createDenseMatrix(size);
-            denseMatrixB = createDenseMatrix(size);
-            memoryUsages = new ArrayList<>();
-        }
-
-        public double calculateAverage(List<Long> values) {
-            long sum = 0;
-            for (long value : values) {
-                sum += value;
-            }
-            return values.isEmpty() ? 0 : (double) sum / values.size();
-        }
-
-        @TearDown(Level.Trial)
-        public void printResults() {
-            double avgMemoryUsage = calculateAverage(memoryUsages);
-
-            System.out.println("------ Benchmark Results ------");
-            System.out.println("Average Memory used: " + avgMemoryUsage + " bytes");
-            System.out.println("--------------------------------");
-        }
-
-        public double[][] createDenseMatrix(int size) {
-            double[][] matrix = new double[size][size];
-            Random random = new Random();
-            for (int i = 0; i < size; i++) {
-                for (int j = 0; j < size; j++) {
-                    matrix[i][j] = random.nextDouble();
-                }
-            }
-            return matrix;
+            denseMatrixA = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED);
+            denseMatrixB = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            flatMatrixA = new DenseMatrix(denseMatrixA);
+            flatMatrixB = new DenseMatrix(denseMatrixB);
+            flops = BenchmarkMatrices.denseFlops(size, size, size);
+            bytes = BenchmarkMatrices.denseBytes(size, size, size);
         }
     }
 
     @Benchmark
-    public void naiveMultiplication(Operands operands) {
-        Runtime runtime = Runtime.getRuntime();
-        runtime.gc();
-        long beforeMemory = getMemory(runtime);
-
-        NaiveMatrixMultiplication.multiply(operands.denseMatrixA, operands.denseMatrixB);
-
-        long afterMemory = getMemory(runtime);
-        long usedMemory = afterMemory - beforeMemory;
-
-        operands.memoryUsages.add(usedMemory);
+    public double[][] naiveMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return NaiveMatrixMultiplication.multiply(operands.denseMatrixA, operands.denseMatrixB);
     }
 
     @Benchmark
-    public void blockingMultiplication(Operands operands) {
-        Runtime runtime = Runtime.getRuntime();
-        runtime.gc();
-        long beforeMemory = getMemory(runtime);
-
-        BlockMatrixMultiplication.multiply(operands.denseMatrixA, operands.denseMatrixB, 64);
-
-        long afterMemory = getMemory(runtime);
-        long usedMemory = afterMemory - beforeMemory;
-
-        operands.memoryUsages.add(usedMemory);
+    public double[][] blockingMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return BlockMatrixMultiplication.multiply(operands.denseMatrixA, operands.denseMatrixB, 64);
     }
 
     @Benchmark
-    public void parallelMultiplication(Operands operands) {
-        Runtime runtime = Runtime.getRuntime();
-        runtime.gc();
-        long beforeMemory = getMemory(runtime);
+    public double[][] parallelMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return ParallelMatrixMultiplication.multiply(operands.denseMatrixA, operands.denseMatrixB);
+    }
 
-        ParallelMatrixMultiplication.multiply(operands.denseMatrixA, operands.denseMatrixB);
+    @Benchmark
+    public DenseMatrix flatNaiveMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return NaiveMatrixMultiplication.multiply(operands.flatMatrixA, operands.flatMatrixB);
+    }
 
-        long afterMemory = getMemory(runtime);
-        long usedMemory = afterMemory - beforeMemory;
+    @Benchmark
+    public DenseMatrix flatBlockingMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return BlockMatrixMultiplication.multiply(operands.flatMatrixA, operands.flatMatrixB, 64);
+    }
 
-        operands.memoryUsages.add(usedMemory);
+    @Benchmark
+    public DenseMatrix flatParallelMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return ParallelMatrixMultiplication.multiply(operands.flatMatrixA, operands.flatMatrixB);
     }
 
-    private static long getMemory(Runtime runtime) {
-        return runtime.totalMemory() - runtime.freeMemory();
+    @Benchmark
+    public DenseMatrix flatConversion(Operands operands) {
+        return new DenseMatrix(operands.denseMatrixA);
     }
 }
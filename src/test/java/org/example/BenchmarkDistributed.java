@@ -0,0 +1,82 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkDistributed {
+
+    @State(Scope.Benchmark)
+    public static class Cluster {
+        @Param({"1", "2", "4"})
+        private int workers;
+
+        @Param({"512", "1024"})
+        private int size;
+
+        @Param({"256"})
+        private int blockSize;
+
+        private final List<Process> processes = new ArrayList<>();
+        private DistributedMatrixMultiplication coordinator;
+        private double[][] a;
+        private double[][] b;
+
+        @Setup
+        public void setup() throws IOException {
+            List<InetSocketAddress> addresses = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                addresses.add(launchWorker());
+            }
+            coordinator = new DistributedMatrixMultiplication(addresses, blockSize);
+            a = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+        }
+
+        @TearDown
+        public void tearDown() {
+            coordinator.close();
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+
+        private InetSocketAddress launchWorker() throws IOException {
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    DistributedMatrixWorker.class.getName(), "0")
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            processes.add(process);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            String line = reader.readLine();
+            if (line == null || !line.startsWith("Listening on port ")) {
+                throw new IOException("The worker process did not report its port.");
+            }
+            int port = Integer.parseInt(line.substring("Listening on port ".length()).trim());
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        }
+    }
+
+    @Benchmark
+    public double[][] distributed(Cluster cluster) throws IOException {
+        return cluster.coordinator.multiply(cluster.a, cluster.b);
+    }
+
+    @Benchmark
+    public double[][] local(Cluster cluster) {
+        return ParallelMatrixMultiplication.multiply(cluster.a, cluster.b);
+    }
+}
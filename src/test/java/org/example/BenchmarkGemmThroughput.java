@@ -0,0 +1,86 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BenchmarkGemmThroughput {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"100", "500", "1000", "2000"})
+        private int size;
+
+        private double[][] a;
+        private double[][] b;
+        private DenseMatrix flatA;
+        private DenseMatrix flatB;
+
+        @Setup
+        public void setup() {
+            a = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            flatA = new DenseMatrix(a);
+            flatB = new DenseMatrix(b);
+        }
+
+        public double flops() {
+            return 2.0 * size * size * size;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class FlopCounter {
+        public double gflops;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gflops = 0;
+        }
+
+        public void add(Operands operands) {
+            gflops += operands.flops() / 1e9;
+        }
+    }
+
+    @Benchmark
+    public double[][] naiveMultiplication(Operands operands, FlopCounter counter) {
+        counter.add(operands);
+        return NaiveMatrixMultiplication.multiply(operands.a, operands.b);
+    }
+
+    @Benchmark
+    public double[][] blockingMultiplication(Operands operands, FlopCounter counter) {
+        counter.add(operands);
+        return BlockMatrixMultiplication.multiply(operands.a, operands.b, 64);
+    }
+
+    @Benchmark
+    public double[][] parallelMultiplication(Operands operands, FlopCounter counter) {
+        counter.add(operands);
+        return ParallelMatrixMultiplication.multiply(operands.a, operands.b);
+    }
+
+    @Benchmark
+    public DenseMatrix flatBlockingMultiplication(Operands operands, FlopCounter counter) {
+        counter.add(operands);
+        return BlockMatrixMultiplication.multiply(operands.flatA, operands.flatB, 64);
+    }
+
+    @Benchmark
+    public DenseMatrix vectorMultiplication(Operands operands, FlopCounter counter) {
+        counter.add(operands);
+        return VectorMatrixMultiplication.multiply(operands.flatA, operands.flatB);
+    }
+
+    @Benchmark
+    public DenseMatrix tiledMultiplication(Operands operands, FlopCounter counter) {
+        counter.add(operands);
+        return TiledMatrixMultiplication.multiply(operands.flatA, operands.flatB);
+    }
+}
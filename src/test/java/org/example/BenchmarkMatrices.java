@@ -0,0 +1,270 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.Random;
+
+public class BenchmarkMatrices {
+    public static final long SEED = 42;
+    public static final int BLOCK_SIZE = 16;
+    public static final double POWER_LAW_SKEW = 1.0;
+
+    public static double[][] dense(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix[i][j] = value(random);
+            }
+        }
+        return matrix;
+    }
+
+    public static double[][] sparse(String structure, int size, double zeroPercentage, long seed) {
+        if (zeroPercentage < 0.0 || zeroPercentage > 1.0) {
+            throw new IllegalArgumentException("The zero percentage must be between 0 and 1.");
+        }
+        double density = 1.0 - zeroPercentage;
+        switch (structure) {
+            case "uniform":
+                return uniform(size, density, seed);
+            case "banded":
+                return banded(size, density, seed);
+            case "powerLaw":
+                return powerLaw(size, density, POWER_LAW_SKEW, seed);
+            case "block":
+                return block(size, density, BLOCK_SIZE, seed);
+            default:
+                throw new IllegalArgumentException("Unknown sparsity structure " + structure + ".");
+        }
+    }
+
+    public static double[][] uniform(int size, double density, long seed) {
+        Random random = new Random(seed);
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (random.nextDouble() < density) {
+                    matrix[i][j] = value(random);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    public static double[][] banded(int size, double density, long seed) {
+        Random random = new Random(seed);
+        double[][] matrix = new double[size][size];
+        long target = Math.round(density * size * size);
+        int bandwidth = 0;
+        while (bandwidth < size && bandCount(size, bandwidth) < target) {
+            bandwidth++;
+        }
+        if (target == 0) {
+            return matrix;
+        }
+        for (int i = 0; i < size; i++) {
+            int start = Math.max(0, i - bandwidth);
+            int end = Math.min(size - 1, i + bandwidth);
+            for (int j = start; j <= end; j++) {
+                matrix[i][j] = value(random);
+            }
+        }
+        return matrix;
+    }
+
+    private static long bandCount(int size, int bandwidth) {
+        long outside = (long) (size - bandwidth - 1) * (size - bandwidth);
+        return (long) size * size - Math.max(0, outside);
+    }
+
+    public static double[][] powerLaw(int size, double density, double skew, long seed) {
+        Random random = new Random(seed);
+        double[][] matrix = new double[size][size];
+        double[] weights = new double[size];
+        double totalWeight = 0.0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, skew);
+            totalWeight += weights[i];
+        }
+        double remaining = density * size * size;
+        for (int i = 0; i < size; i++) {
+            int rowNonZeros = (int) Math.min(size, Math.round(remaining * weights[i] / totalWeight));
+            remaining -= rowNonZeros;
+            totalWeight -= weights[i];
+            int placed = 0;
+            while (placed < rowNonZeros) {
+                int j = random.nextInt(size);
+                if (matrix[i][j] == 0.0) {
+                    matrix[i][j] = value(random);
+                    placed++;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    public static double[][] block(int size, double density, int blockSize, long seed) {
+        Random random = new Random(seed);
+        double[][] matrix = new double[size][size];
+        for (int i0 = 0; i0 < size; i0 += blockSize) {
+            for (int j0 = 0; j0 < size; j0 += blockSize) {
+                if (random.nextDouble() >= density) {
+                    continue;
+                }
+                for (int i = i0; i < Math.min(i0 + blockSize, size); i++) {
+                    for (int j = j0; j < Math.min(j0 + blockSize, size); j++) {
+                        matrix[i][j] = value(random);
+                    }
+                }
+            }
+        }
+        return matrix;
+    }
+
+    public static double[] vector(int size, long seed) {
+        return dense(1, size, seed)[0];
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix rowSparse(int size, int averageRowNonZeros, double skew, long seed) {
+        Random random = new Random(seed);
+        double[] weights = new double[size];
+        double totalWeight = 0.0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, skew);
+            totalWeight += weights[i];
+        }
+        long targetNonZeros = (long) size * averageRowNonZeros;
+        CoordinateMatrixBuilder builder = new CoordinateMatrixBuilder(size, size, (int) targetNonZeros);
+        for (int i = 0; i < size; i++) {
+            int rowNonZeros = (int) Math.min(size, Math.max(1, Math.round(targetNonZeros * weights[i] / totalWeight)));
+            for (int p = 0; p < rowNonZeros; p++) {
+                builder.add(i, random.nextInt(size), value(random));
+            }
+        }
+        return builder.toCSR();
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix centered(CSRMatrixMultiplication.CSRMatrix matrix) {
+        double[] values = matrix.getValues().clone();
+        for (int p = 0; p < values.length; p++) {
+            values[p] -= 5.0;
+        }
+        return new CSRMatrixMultiplication.CSRMatrix(matrix.getRows(), matrix.getCols(), values,
+                matrix.getColumnIndices(), matrix.getRowPointers());
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix blockMesh(int gridSize, int degreesOfFreedom, long seed) {
+        Random random = new Random(seed);
+        int size = gridSize * gridSize * degreesOfFreedom;
+        CoordinateMatrixBuilder builder = new CoordinateMatrixBuilder(size, size, size * 9 * degreesOfFreedom);
+        for (int x = 0; x < gridSize; x++) {
+            for (int y = 0; y < gridSize; y++) {
+                int node = x * gridSize + y;
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        if (x + dx < 0 || x + dx >= gridSize || y + dy < 0 || y + dy >= gridSize) {
+                            continue;
+                        }
+                        int neighbour = (x + dx) * gridSize + y + dy;
+                        for (int a = 0; a < degreesOfFreedom; a++) {
+                            for (int b = 0; b < degreesOfFreedom; b++) {
+                                builder.add(node * degreesOfFreedom + a, neighbour * degreesOfFreedom + b, value(random));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return builder.toCSR();
+    }
+
+    public static CSRMatrixMultiplication.CSRMatrix shuffledMesh(int side, long seed) {
+        Random random = new Random(seed);
+        int n = side * side;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) {
+            label[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = label[i];
+            label[i] = label[j];
+            label[j] = tmp;
+        }
+        CoordinateMatrixBuilder builder = new CoordinateMatrixBuilder(n, n, 5 * n);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int node = label[y * side + x];
+                builder.add(node, node, 4.0);
+                if (x > 0) {
+                    builder.add(node, label[y * side + x - 1], -value(random));
+                }
+                if (x < side - 1) {
+                    builder.add(node, label[y * side + x + 1], -value(random));
+                }
+                if (y > 0) {
+                    builder.add(node, label[(y - 1) * side + x], -value(random));
+                }
+                if (y < side - 1) {
+                    builder.add(node, label[(y + 1) * side + x], -value(random));
+                }
+            }
+        }
+        return builder.toCSR();
+    }
+
+    public static long nonZeros(double[][] matrix) {
+        long count = 0;
+        for (double[] row : matrix) {
+            for (double value : row) {
+                if (value != 0.0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public static double denseFlops(int rows, int inner, int cols) {
+        return 2.0 * rows * inner * cols;
+    }
+
+    public static double denseBytes(int rows, int inner, int cols) {
+        return Double.BYTES * ((double) rows * inner + (double) inner * cols + (double) rows * cols);
+    }
+
+    public static double sparseFlops(long nonZeros, int cols) {
+        return 2.0 * nonZeros * cols;
+    }
+
+    public static double sparseBytes(long nonZeros, int rows, int inner, int cols) {
+        return (Double.BYTES + Integer.BYTES) * (double) nonZeros + Integer.BYTES * (rows + 1.0)
+                + Double.BYTES * ((double) inner * cols + (double) rows * cols);
+    }
+
+    private static double value(Random random) {
+        return 0.1 + (9.8 * random.nextDouble());
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class WorkCounter {
+        public double gflops;
+        public double gigabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gflops = 0;
+            gigabytes = 0;
+        }
+
+        public void add(double flops, double bytes) {
+            gflops += flops / 1e9;
+            gigabytes += bytes / 1e9;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkMatrixExpression {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"200", "500"})
+        private int size;
+
+        @Param({"0.95"})
+        private double zeroPercentage;
+
+        private double[][] a;
+        private double[][] b;
+        private CSRMatrixMultiplication.CSRMatrix c;
+        private double[][] cDense;
+        private double[][] cTransposedDense;
+        private double[] x;
+        private MatrixExpression chain;
+        private MatrixExpression transposedChain;
+
+        @Setup
+        public void setup() {
+            a = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            c = new CSRMatrixMultiplication.CSRMatrix(
+                    BenchmarkMatrices.sparse("uniform", size, zeroPercentage, BenchmarkMatrices.SEED + 2));
+            cDense = c.toDense();
+            cTransposedDense = c.transpose().toCSR().toDense();
+            x = BenchmarkMatrices.dense(1, size, BenchmarkMatrices.SEED + 3)[0];
+            chain = MatrixExpression.of(a).times(b).times(c).times(x).scale(0.5);
+            transposedChain = MatrixExpression.of(c).transpose().times(MatrixExpression.of(b).transpose()).times(a);
+        }
+    }
+
+    @Benchmark
+    public double[] leftToRight(Operands operands) {
+        double[][] abc = ParallelMatrixMultiplication.multiply(
+                ParallelMatrixMultiplication.multiply(operands.a, operands.b), operands.cDense);
+        double[] result = new double[operands.size];
+        for (int i = 0; i < result.length; i++) {
+            double sum = 0.0;
+            for (int k = 0; k < operands.x.length; k++) {
+                sum += abc[i][k] * operands.x[k];
+            }
+            result[i] = 0.5 * sum;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] expression(Operands operands) {
+        return operands.chain.evaluateVector();
+    }
+
+    @Benchmark
+    public double[][] transposedLeftToRight(Operands operands) {
+        return ParallelMatrixMultiplication.multiply(
+                TransposedMatrixMultiplication.multiply(operands.cTransposedDense, false, operands.b, true), operands.a);
+    }
+
+    @Benchmark
+    public double[][] transposedExpression(Operands operands) {
+        return operands.transposedChain.evaluate();
+    }
+}
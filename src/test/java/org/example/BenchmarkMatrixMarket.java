@@ -0,0 +1,108 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BenchmarkMatrixMarket {
+
+    @State(Scope.Benchmark)
+    public static class Operands {
+        @Param({"100000", "1000000"})
+        private int rows;
+
+        @Param({"10"})
+        private int rowNonZeros;
+
+        @Param({"1", "4"})
+        private int threads;
+
+        private Path file;
+        private long bytes;
+        private ForkJoinPool pool;
+
+        @Setup
+        public void setup() throws IOException {
+            Random random = new Random(BenchmarkMatrices.SEED);
+            file = Files.createTempFile("matrix", ".mtx");
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                writer.write("%%MatrixMarket matrix coordinate real general\n");
+                writer.write(rows + " " + rows + " " + ((long) rows * rowNonZeros) + "\n");
+                for (int i = 0; i < rows; i++) {
+                    for (int p = 0; p < rowNonZeros; p++) {
+                        writer.write((i + 1) + " " + (random.nextInt(rows) + 1) + " " + random.nextDouble() + "\n");
+                    }
+                }
+            }
+            bytes = Files.size(file);
+            pool = new ForkJoinPool(threads);
+            verifyLongMantissas();
+        }
+
+        private static void verifyLongMantissas() throws IOException {
+            String[] tokens = {"9.999999999999999999", "9999999999999999999", "-9999999999999999999e-5",
+                    "1844674407370955161", "9223372036854775807", "9223372036854775808", "0.1234567890123456789"};
+            Path check = Files.createTempFile("mantissa", ".mtx");
+            try {
+                try (Writer writer = Files.newBufferedWriter(check)) {
+                    writer.write("%%MatrixMarket matrix coordinate real general\n");
+                    writer.write(tokens.length + " 1 " + tokens.length + "\n");
+                    for (int i = 0; i < tokens.length; i++) {
+                        writer.write((i + 1) + " 1 " + tokens[i] + "\n");
+                    }
+                }
+                double[][] parsed = MatrixMarket.readCSR(check).toDense();
+                for (int i = 0; i < tokens.length; i++) {
+                    if (parsed[i][0] != Double.parseDouble(tokens[i])) {
+                        throw new IllegalStateException("Parsed " + tokens[i] + " as " + parsed[i][0] + ".");
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(check);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            pool.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ByteCounter {
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+
+        public void add(Operands operands) {
+            megabytes += operands.bytes / 1e6;
+        }
+    }
+
+    @Benchmark
+    public CSRMatrixMultiplication.CSRMatrix readCSR(Operands operands, ByteCounter counter) throws IOException {
+        counter.add(operands);
+        return MatrixMarket.readCSR(operands.file, operands.pool);
+    }
+
+    @Benchmark
+    public CSCMatrixMultiplication readCSC(Operands operands, ByteCounter counter) throws IOException {
+        counter.add(operands);
+        return MatrixMarket.readCSC(operands.file, operands.pool);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkMatrixStore {
+
+    @State(Scope.Benchmark)
+    public static class Operands {
+        @Param({"100000", "1000000"})
+        private int rows;
+
+        @Param({"32"})
+        private int rowNonZeros;
+
+        private Path file;
+        private CSRMatrixMultiplication.CSRMatrix heapMatrix;
+        private MappedCSRMatrix mappedMatrix;
+        private OffHeapCSRMatrix offHeapMatrix;
+        private double[] vector;
+        private double[] result;
+
+        @Setup
+        public void setup() throws IOException {
+            Random random = new Random(BenchmarkMatrices.SEED);
+            file = Files.createTempFile("matrix", ".csr");
+            int cols = rows;
+            try (MatrixStore.CSRWriter writer = MatrixStore.createCSR(file, rows, cols, (long) rows * rowNonZeros)) {
+                int[] columns = new int[rowNonZeros];
+                double[] values = new double[rowNonZeros];
+                for (int i = 0; i < rows; i++) {
+                    for (int p = 0; p < rowNonZeros; p++) {
+                        columns[p] = random.nextInt(cols);
+                        values[p] = random.nextDouble();
+                    }
+                    writer.appendRow(columns, values, rowNonZeros);
+                }
+            }
+            mappedMatrix = MatrixStore.openCSR(file);
+            heapMatrix = mappedMatrix.toCSR();
+            offHeapMatrix = OffHeapCSRMatrix.of(heapMatrix);
+            vector = new double[cols];
+            for (int i = 0; i < cols; i++) {
+                vector[i] = random.nextDouble();
+            }
+            result = new double[rows];
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            offHeapMatrix.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public MappedCSRMatrix open(Operands operands) throws IOException {
+        return MatrixStore.openCSR(operands.file);
+    }
+
+    @Benchmark
+    public double[] heapSpMV(Operands operands) {
+        operands.heapMatrix.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] mappedSpMV(Operands operands) {
+        operands.mappedMatrix.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] offHeapSpMV(Operands operands) {
+        operands.offHeapMatrix.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+}
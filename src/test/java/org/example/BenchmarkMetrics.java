@@ -0,0 +1,56 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class BenchmarkMetrics {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"50", "200"})
+        private int size;
+
+        @Param({"0.9"})
+        private double zeroPercentage;
+
+        private double[][] a;
+        private double[][] b;
+        private SparseMatrixOptimizer optimizer;
+
+        @Setup
+        public void setup() {
+            a = BenchmarkMatrices.sparse("uniform", size, zeroPercentage, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            optimizer = new SparseMatrixOptimizer(a);
+            optimizer.multiplyWithCSRDenseMatrix(b);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dmatrix.metrics=false")
+    public double[][] csrDenseDisabled(Operands operands) {
+        return operands.optimizer.multiplyWithCSRDenseMatrix(operands.b);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dmatrix.metrics=true")
+    public double[][] csrDenseEnabled(Operands operands) {
+        return operands.optimizer.multiplyWithCSRDenseMatrix(operands.b);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dmatrix.metrics=false")
+    public double[][] parallelDenseDisabled(Operands operands) {
+        return ParallelMatrixMultiplication.multiply(operands.b, operands.b);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dmatrix.metrics=true")
+    public double[][] parallelDenseEnabled(Operands operands) {
+        return ParallelMatrixMultiplication.multiply(operands.b, operands.b);
+    }
+}
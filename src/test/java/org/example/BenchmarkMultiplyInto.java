@@ -0,0 +1,78 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BenchmarkMultiplyInto {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"256", "1024"})
+        private int size;
+
+        @Param({"0.01"})
+        private double density;
+
+        private CSRMatrixMultiplication.CSRMatrix csr;
+        private SparseMatrixOptimizer optimizer;
+        private double[] vector;
+        private double[] vectorResult;
+        private double[][] dense;
+        private double[][] denseResult;
+        private DenseMatrix flatA;
+        private DenseMatrix flatB;
+        private DenseMatrix flatResult;
+        private MatrixWorkspace workspace;
+
+        @Setup
+        public void setup() {
+            double[][] sparse = BenchmarkMatrices.uniform(size, density, BenchmarkMatrices.SEED);
+            csr = new CSRMatrixMultiplication.CSRMatrix(sparse);
+            optimizer = new SparseMatrixOptimizer(sparse);
+            vector = BenchmarkMatrices.vector(size, BenchmarkMatrices.SEED + 1);
+            vectorResult = new double[size];
+            int denseSize = Math.min(size, 256);
+            dense = BenchmarkMatrices.dense(size, denseSize, BenchmarkMatrices.SEED + 2);
+            denseResult = new double[size][denseSize];
+            double[][] square = BenchmarkMatrices.dense(denseSize, denseSize, BenchmarkMatrices.SEED + 3);
+            flatA = new DenseMatrix(square);
+            flatB = new DenseMatrix(square);
+            flatResult = new DenseMatrix(denseSize, denseSize);
+            workspace = new MatrixWorkspace();
+        }
+    }
+
+    @Benchmark
+    public double[] spmvAllocating(Operands operands) {
+        return operands.csr.multiply(operands.vector);
+    }
+
+    @Benchmark
+    public double[] spmvInto(Operands operands) {
+        operands.csr.multiplyInto(operands.vectorResult, operands.vector);
+        return operands.vectorResult;
+    }
+
+    @Benchmark
+    public double[][] csrDenseInto(Operands operands) {
+        operands.optimizer.multiplyWithCSRDenseMatrixInto(operands.denseResult, operands.dense, 1.0, 0.0);
+        return operands.denseResult;
+    }
+
+    @Benchmark
+    public DenseMatrix blockInto(Operands operands) {
+        BlockMatrixMultiplication.multiplyInto(operands.flatResult, operands.flatA, operands.flatB, 64);
+        return operands.flatResult;
+    }
+
+    @Benchmark
+    public DenseMatrix vectorInto(Operands operands) {
+        VectorMatrixMultiplication.multiplyInto(operands.flatResult, operands.flatA, operands.flatB, 1.0, 0.0, operands.workspace);
+        return operands.flatResult;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkParallelEngine {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"100", "500", "1000"})
+        private int size;
+
+        @Param({"forkJoin", "fixed", "virtual"})
+        private String executorType;
+
+        @Param({"0", "64"})
+        private int tileSize;
+
+        private double[][] a;
+        private double[][] b;
+        private double[][] c;
+        private ExecutorService executor;
+        private ParallelMultiplicationEngine engine;
+
+        @Setup
+        public void setup() {
+            a = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            c = new double[size][size];
+            int threads = Runtime.getRuntime().availableProcessors();
+            switch (executorType) {
+                case "forkJoin" -> executor = new ForkJoinPool(threads);
+                case "fixed" -> executor = Executors.newFixedThreadPool(threads);
+                case "virtual" -> executor = Executors.newVirtualThreadPerTaskExecutor();
+                default -> throw new IllegalArgumentException("Unknown executor type " + executorType + ".");
+            }
+            engine = new ParallelMultiplicationEngine(executor, threads, tileSize, tileSize);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public double[][] multiplyInto(Operands operands) {
+        operands.engine.multiplyInto(operands.c, operands.a, operands.b);
+        return operands.c;
+    }
+}
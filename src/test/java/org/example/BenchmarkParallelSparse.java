@@ -0,0 +1,60 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkParallelSparse {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"2000", "20000"})
+        private int size;
+
+        @Param({"1", "2", "4", "8", "16"})
+        private int threads;
+
+        @Param({"0.0", "1.5"})
+        private double skew;
+
+        private CSRMatrixMultiplication.CSRMatrix matrix;
+        private double[] vector;
+        private double[][] denseMatrix;
+        private ForkJoinPool pool;
+        private ParallelSparseMultiplication parallel;
+
+        @Setup
+        public void setup() {
+            matrix = BenchmarkMatrices.rowSparse(size, 32, skew, BenchmarkMatrices.SEED);
+            vector = BenchmarkMatrices.vector(size, BenchmarkMatrices.SEED + 1);
+            denseMatrix = BenchmarkMatrices.dense(size, 16, BenchmarkMatrices.SEED + 2);
+            pool = new ForkJoinPool(threads);
+            parallel = new ParallelSparseMultiplication(pool);
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public double[] sequentialSpMV(Operands operands) {
+        return operands.matrix.multiply(operands.vector);
+    }
+
+    @Benchmark
+    public double[] parallelSpMV(Operands operands) {
+        return operands.parallel.multiply(operands.matrix, operands.vector);
+    }
+
+    @Benchmark
+    public double[][] parallelSpMM(Operands operands) {
+        return operands.parallel.multiply(operands.matrix, operands.denseMatrix);
+    }
+}
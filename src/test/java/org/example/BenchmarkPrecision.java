@@ -0,0 +1,153 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkPrecision {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"256", "1024"})
+        private int size;
+
+        @Param({"100000"})
+        private int sparseSize;
+
+        @Param({"16"})
+        private int rowNonZeros;
+
+        private double[][] a;
+        private double[][] b;
+        private float[][] floatA;
+        private float[][] floatB;
+        private double[][] denseResult;
+        private float[][] floatDenseResult;
+
+        private CSRMatrixMultiplication.CSRMatrix csr;
+        private FloatCSRMatrix floatCsr;
+        private double[] vector;
+        private float[] floatVector;
+        private double[] vectorResult;
+        private float[] floatVectorResult;
+        private double[][] sparseDense;
+        private float[][] floatSparseDense;
+        private double[][] sparseDenseResult;
+        private float[][] floatSparseDenseResult;
+        private ForkJoinPool pool;
+        private ParallelSparseMultiplication sequentialSparse;
+
+        @Setup
+        public void setup() {
+            a = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            floatA = FloatMatrixMultiplication.toFloat(a);
+            floatB = FloatMatrixMultiplication.toFloat(b);
+            denseResult = new double[size][size];
+            floatDenseResult = new float[size][size];
+
+            csr = BenchmarkMatrices.centered(
+                    BenchmarkMatrices.rowSparse(sparseSize, rowNonZeros, 0.0, BenchmarkMatrices.SEED + 2));
+            floatCsr = new FloatCSRMatrix(csr);
+            vector = BenchmarkMatrices.vector(sparseSize, BenchmarkMatrices.SEED + 3);
+            floatVector = FloatMatrixMultiplication.toFloat(vector);
+            vectorResult = new double[sparseSize];
+            floatVectorResult = new float[sparseSize];
+            sparseDense = BenchmarkMatrices.dense(sparseSize, 16, BenchmarkMatrices.SEED + 4);
+            floatSparseDense = FloatMatrixMultiplication.toFloat(sparseDense);
+            sparseDenseResult = new double[sparseSize][16];
+            floatSparseDenseResult = new float[sparseSize][16];
+            pool = new ForkJoinPool(1);
+            sequentialSparse = new ParallelSparseMultiplication(pool);
+        }
+
+        @TearDown(Level.Trial)
+        public void printError() {
+            pool.shutdown();
+            double[][] expected = NaiveMatrixMultiplication.multiply(a, b);
+            double[] expectedVector = csr.multiply(vector);
+
+            System.out.println("------ Benchmark Results ------");
+            System.out.println("Dense float max relative error vs naive: "
+                    + relativeError(expected, FloatMatrixMultiplication.toDouble(FloatMatrixMultiplication.multiply(floatA, floatB))));
+            System.out.println("Dense mixed max relative error vs naive: "
+                    + relativeError(expected, FloatMatrixMultiplication.multiplyMixed(floatA, floatB)));
+            System.out.println("SpMV float max relative error vs double: "
+                    + relativeError(new double[][]{expectedVector}, new double[][]{FloatMatrixMultiplication.toDouble(floatCsr.multiply(floatVector))}));
+            System.out.println("SpMV mixed max relative error vs double: "
+                    + relativeError(new double[][]{expectedVector}, new double[][]{floatCsr.multiplyMixed(floatVector)}));
+            System.out.println("--------------------------------");
+        }
+
+        private double relativeError(double[][] expected, double[][] actual) {
+            double maxError = 0.0;
+            double maxValue = 0.0;
+            for (int i = 0; i < expected.length; i++) {
+                for (int j = 0; j < expected[i].length; j++) {
+                    maxError = Math.max(maxError, Math.abs(expected[i][j] - actual[i][j]));
+                    maxValue = Math.max(maxValue, Math.abs(expected[i][j]));
+                }
+            }
+            return maxValue == 0.0 ? 0.0 : maxError / maxValue;
+        }
+    }
+
+    @Benchmark
+    public double[][] doubleDense(Operands operands) {
+        BlockMatrixMultiplication.multiplyInto(operands.denseResult, operands.a, operands.b, 64);
+        return operands.denseResult;
+    }
+
+    @Benchmark
+    public float[][] floatDense(Operands operands) {
+        FloatMatrixMultiplication.multiplyInto(operands.floatDenseResult, operands.floatA, operands.floatB, 1.0f, 0.0f);
+        return operands.floatDenseResult;
+    }
+
+    @Benchmark
+    public double[][] mixedDense(Operands operands) {
+        FloatMatrixMultiplication.multiplyMixedInto(operands.denseResult, operands.floatA, operands.floatB, 1.0, 0.0);
+        return operands.denseResult;
+    }
+
+    @Benchmark
+    public double[] doubleSpMV(Operands operands) {
+        operands.csr.multiplyInto(operands.vectorResult, operands.vector);
+        return operands.vectorResult;
+    }
+
+    @Benchmark
+    public float[] floatSpMV(Operands operands) {
+        operands.floatCsr.multiplyInto(operands.floatVectorResult, operands.floatVector, 1.0f, 0.0f);
+        return operands.floatVectorResult;
+    }
+
+    @Benchmark
+    public double[] mixedSpMV(Operands operands) {
+        operands.floatCsr.multiplyMixedInto(operands.vectorResult, operands.floatVector, 1.0, 0.0);
+        return operands.vectorResult;
+    }
+
+    @Benchmark
+    public double[][] doubleSpMM(Operands operands) {
+        operands.sequentialSparse.multiplyInto(operands.sparseDenseResult, operands.csr, operands.sparseDense, 1.0, 0.0);
+        return operands.sparseDenseResult;
+    }
+
+    @Benchmark
+    public float[][] floatSpMM(Operands operands) {
+        operands.floatCsr.multiplyInto(operands.floatSparseDenseResult, operands.floatSparseDense, 1.0f, 0.0f);
+        return operands.floatSparseDenseResult;
+    }
+
+    @Benchmark
+    public double[][] mixedSpMM(Operands operands) {
+        operands.floatCsr.multiplyMixedInto(operands.sparseDenseResult, operands.floatSparseDense, 1.0, 0.0);
+        return operands.sparseDenseResult;
+    }
+}
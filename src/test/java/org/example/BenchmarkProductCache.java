@@ -0,0 +1,72 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkProductCache {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"1000", "2000"})
+        private int size;
+
+        @Param({"0.95"})
+        private double zeroPercentage;
+
+        @Param({"64"})
+        private int rhsCols;
+
+        @Param({"false", "true"})
+        private boolean offHeap;
+
+        private double[][] a;
+        private double[][] b;
+        private CSRMatrixMultiplication.CSRMatrix csr;
+        private ProductCache cache;
+
+        @Setup
+        public void setup() {
+            a = BenchmarkMatrices.sparse("uniform", size, zeroPercentage, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.dense(size, rhsCols, BenchmarkMatrices.SEED + 1);
+            csr = new CSRMatrixMultiplication.CSRMatrix(a);
+            cache = new ProductCache(256L << 20, offHeap);
+            cache.multiply(a, b);
+            cache.multiply(csr, b);
+        }
+
+        @TearDown
+        public void tearDown() {
+            cache.close();
+        }
+    }
+
+    @Benchmark
+    public double[][] denseUncached(Operands operands) {
+        return ParallelMatrixMultiplication.multiply(operands.a, operands.b);
+    }
+
+    @Benchmark
+    public double[][] denseCached(Operands operands) {
+        return operands.cache.multiply(operands.a, operands.b);
+    }
+
+    @Benchmark
+    public double[][] csrUncached(Operands operands) {
+        return operands.csr.multiply(operands.b);
+    }
+
+    @Benchmark
+    public double[][] csrCached(Operands operands) {
+        return operands.cache.multiply(operands.csr, operands.b);
+    }
+
+    @Benchmark
+    public MatrixFingerprint fingerprintDense(Operands operands) {
+        return MatrixFingerprint.of(operands.b);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkReordering {
+    private static final double ALPHA = 1.0 / 44.0;
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"300", "700"})
+        private int side;
+
+        @Param({"1", "30", "100", "300"})
+        private int iterations;
+
+        private CSRMatrixMultiplication.CSRMatrix matrix;
+        private ReorderedCSRMatrix reordered;
+        private double[] x;
+
+        @Setup
+        public void setup() {
+            matrix = BenchmarkMatrices.shuffledMesh(side, BenchmarkMatrices.SEED);
+            reordered = new ReorderedCSRMatrix(matrix);
+            x = BenchmarkMatrices.dense(1, matrix.getRows(), BenchmarkMatrices.SEED + 1)[0];
+        }
+    }
+
+    @Benchmark
+    public double[] original(Operands operands) {
+        double[] current = operands.x.clone();
+        double[] next = new double[current.length];
+        for (int k = 0; k < operands.iterations; k++) {
+            operands.matrix.multiplyInto(next, current, ALPHA, 0.0);
+            double[] swap = current;
+            current = next;
+            next = swap;
+        }
+        return current;
+    }
+
+    @Benchmark
+    public double[] reorderedIncludingSetup(Operands operands) {
+        ReorderedCSRMatrix reordered = new ReorderedCSRMatrix(operands.matrix);
+        double[] current = reordered.permute(operands.x);
+        double[] next = new double[current.length];
+        for (int k = 0; k < operands.iterations; k++) {
+            reordered.multiplyPermutedInto(next, current, ALPHA, 0.0);
+            double[] swap = current;
+            current = next;
+            next = swap;
+        }
+        return reordered.unpermute(current);
+    }
+
+    @Benchmark
+    public double[] reorderedTransparent(Operands operands) {
+        double[] current = operands.x.clone();
+        double[] next = new double[current.length];
+        for (int k = 0; k < operands.iterations; k++) {
+            operands.reordered.multiplyInto(next, current, ALPHA, 0.0);
+            double[] swap = current;
+            current = next;
+            next = swap;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+public class BenchmarkRunner {
+    public static final String DEFAULT_RESULT = "target/jmh-result.json";
+    public static final String DEFAULT_BASELINE = "benchmarks/baseline.json";
+
+    public static void main(String[] args) throws RunnerException, IOException, CommandLineOptionException {
+        Path result = Paths.get(System.getProperty("jmh.result", DEFAULT_RESULT));
+        Path baseline = Paths.get(System.getProperty("jmh.baseline", DEFAULT_BASELINE));
+        double threshold = Double.parseDouble(System.getProperty("jmh.threshold",
+                String.valueOf(BenchmarkBaseline.DEFAULT_THRESHOLD_PERCENT)));
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        if (!Files.exists(baseline)) {
+            if (baseline.getParent() != null) {
+                Files.createDirectories(baseline.getParent());
+            }
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("No baseline found, stored " + result + " as " + baseline);
+            return;
+        }
+        List<String> regressions = BenchmarkBaseline.compare(result, baseline, threshold);
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+}
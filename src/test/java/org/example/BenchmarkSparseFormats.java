@@ -0,0 +1,128 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BenchmarkSparseFormats {
+
+    @State(Scope.Thread)
+    public static class RandomOperands {
+        @Param({"500", "2000"})
+        private int size;
+
+        @Param({"0.9", "0.99", "0.999"})
+        private double zeroPercentage;
+
+        private CSRMatrixMultiplication.CSRMatrix csr;
+        private SellCSigmaMatrix sell;
+        private BlockCSRMatrix bcsr;
+        private double[] vector;
+        private double[] result;
+        private double[][] dense;
+        private double[][] denseResult;
+        private ParallelSparseMultiplication sequential;
+
+        @Setup
+        public void setup() {
+            csr = new CSRMatrixMultiplication.CSRMatrix(
+                    BenchmarkMatrices.sparse("uniform", size, zeroPercentage, BenchmarkMatrices.SEED));
+            sell = new SellCSigmaMatrix(csr);
+            bcsr = new BlockCSRMatrix(csr, 4, 4);
+            vector = BenchmarkMatrices.vector(size, BenchmarkMatrices.SEED + 1);
+            result = new double[size];
+            dense = BenchmarkMatrices.dense(size, 16, BenchmarkMatrices.SEED + 2);
+            denseResult = new double[size][16];
+            sequential = new ParallelSparseMultiplication(new ForkJoinPool(1));
+        }
+
+        @TearDown
+        public void tearDown() {
+            sequential.getPool().shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BlockOperands {
+        @Param({"100", "300"})
+        private int gridSize;
+
+        @Param({"3"})
+        private int degreesOfFreedom;
+
+        private CSRMatrixMultiplication.CSRMatrix csr;
+        private SellCSigmaMatrix sell;
+        private BlockCSRMatrix bcsr;
+        private double[] vector;
+        private double[] result;
+
+        @Setup
+        public void setup() {
+            csr = BenchmarkMatrices.blockMesh(gridSize, degreesOfFreedom, BenchmarkMatrices.SEED);
+            int size = csr.getRows();
+            sell = new SellCSigmaMatrix(csr);
+            bcsr = new BlockCSRMatrix(csr, degreesOfFreedom, degreesOfFreedom);
+            vector = BenchmarkMatrices.vector(size, BenchmarkMatrices.SEED + 1);
+            result = new double[size];
+        }
+    }
+
+    @Benchmark
+    public double[] randomCsrSpMV(RandomOperands operands) {
+        operands.csr.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] randomSellSpMV(RandomOperands operands) {
+        operands.sell.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] randomBcsrSpMV(RandomOperands operands) {
+        operands.bcsr.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[][] randomCsrSpMM(RandomOperands operands) {
+        operands.sequential.multiplyInto(operands.denseResult, operands.csr, operands.dense, 1.0, 0.0);
+        return operands.denseResult;
+    }
+
+    @Benchmark
+    public double[][] randomSellSpMM(RandomOperands operands) {
+        operands.sell.multiplyInto(operands.denseResult, operands.dense, 1.0, 0.0);
+        return operands.denseResult;
+    }
+
+    @Benchmark
+    public double[][] randomBcsrSpMM(RandomOperands operands) {
+        operands.bcsr.multiplyInto(operands.denseResult, operands.dense, 1.0, 0.0);
+        return operands.denseResult;
+    }
+
+    @Benchmark
+    public double[] blockCsrSpMV(BlockOperands operands) {
+        operands.csr.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] blockSellSpMV(BlockOperands operands) {
+        operands.sell.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] blockBcsrSpMV(BlockOperands operands) {
+        operands.bcsr.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+}
@@ -1,112 +1,92 @@
 package org.example;
 
 import org.openjdk.jmh.annotations.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
-@BenchmarkMode(Mode.AverageTime)
-@OutputTimeUnit(TimeUnit.MILLISECONDS)
-@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.MILLISECONDS)
-@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
 @Fork(1)
 public class BenchmarkSparseOptimizers {
 
     @State(Scope.Thread)
     public static class Operands {
-        @Param({"10", "100", "500", "1000", "2000"})
+        @Param({"100", "500", "1000", "2000"})
         private int size;
 
-        @Param({"0.0", "0.1", "0.2", "0.3", "0.4", "0.5", "0.6", "0.7", "0.8", "0.9", "1"})
+        @Param({"0.0", "0.5", "0.9", "0.99"})
         private double zeroPercentage;
 
+        @Param({"uniform", "banded", "powerLaw", "block"})
+        private String structure;
+
         private double[][] a;
         private double[][] b;
-        private List<Long> memoryUsages;
+        private CSRMatrixMultiplication.CSRMatrix csrA;
+        private CSRMatrixMultiplication.CSRMatrix csrB;
+        private SparseMatrixOptimizer optimizer;
+        private double flops;
+        private double bytes;
+        private double sparseSparseFlops;
 
         @Setup
         public void setup() {
-            a = createMatrix(size, zeroPercentage);
-            b = createMatrix(size, zeroPercentage);
-            memoryUsages = new ArrayList<>();
-        }
-
-        public double calculateAverage(List<Long> values) {
-            long sum = 0;
-            for (long value : values) {
-                sum += value;
+            a = BenchmarkMatrices.sparse(structure, size, zeroPercentage, BenchmarkMatrices.SEED);
+            b = BenchmarkMatrices.sparse(structure, size, zeroPercentage, BenchmarkMatrices.SEED + 1);
+            csrA = new CSRMatrixMultiplication.CSRMatrix(a);
+            csrB = new CSRMatrixMultiplication.CSRMatrix(b);
+            optimizer = new SparseMatrixOptimizer(a);
+            optimizer.multiplyWithCSRDenseMatrix(b);
+            optimizer.multiplyWithCSCDenseMatrix(b);
+            optimizer.multiply(b);
+            long nonZeros = csrA.getNonZeroCount();
+            flops = BenchmarkMatrices.sparseFlops(nonZeros, size);
+            bytes = BenchmarkMatrices.sparseBytes(nonZeros, size, size, size);
+            int[] columnIndices = csrA.getColumnIndices();
+            int[] rowPointersB = csrB.getRowPointers();
+            for (int p = 0; p < nonZeros; p++) {
+                sparseSparseFlops += 2.0 * (rowPointersB[columnIndices[p] + 1] - rowPointersB[columnIndices[p]]);
             }
-            return values.isEmpty() ? 0 : (double) sum / values.size();
-        }
-
-        @TearDown(Level.Trial)
-        public void printResults() {
-            double avgMemoryUsage = calculateAverage(memoryUsages);
-
-            System.out.println("------ Benchmark Results ------");
-            System.out.println("Average Memory used: " + avgMemoryUsage + " bytes");
-            System.out.println("--------------------------------");
-        }
-
-        public double[][] createMatrix(int size, double zeroPercentage) {
-            double[][] matrix = new double[size][size];
-            int totalElements = size * size;
-            int zeroCount = (int) (totalElements * zeroPercentage);
-
-            Random rand = new Random();
-
-            for (int i = 0; i < size; i++) {
-                for (int j = 0; j < size; j++) {
-                    matrix[i][j] = 0.1 + (9.8 * rand.nextDouble());
-                }
-            }
-
-            int placedZeros = 0;
-            while (placedZeros < zeroCount) {
-                int randomRow = rand.nextInt(size);
-                int randomCol = rand.nextInt(size);
-
-                if (matrix[randomRow][randomCol] != 0.0) {
-                    matrix[randomRow][randomCol] = 0.0;
-                    placedZeros++;
-                }
-            }
-            return matrix;
         }
     }
 
     @Benchmark
-    public void csrSparseMultiplication(Operands operands) {
-        Runtime runtime = Runtime.getRuntime();
-        runtime.gc();
-        long beforeMemory = getMemory(runtime);
-
-        SparseMatrixOptimizer sparseOptimizer = new SparseMatrixOptimizer(operands.a);
-        sparseOptimizer.multiplyWithCSRDenseMatrix(operands.b);
-
-        long afterMemory = getMemory(runtime);
-        long usedMemory = afterMemory - beforeMemory;
+    public double[][] csrSparseMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return operands.optimizer.multiplyWithCSRDenseMatrix(operands.b);
+    }
 
-        operands.memoryUsages.add(usedMemory);
+    @Benchmark
+    public double[][] cscSparseMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return operands.optimizer.multiplyWithCSCDenseMatrix(operands.b);
     }
 
     @Benchmark
-    public void cscSparseMultiplication(Operands operands) {
-        Runtime runtime = Runtime.getRuntime();
-        runtime.gc();
-        long beforeMemory = getMemory(runtime);
+    public CSRMatrixMultiplication.CSRMatrix csrSparseSparseMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.sparseSparseFlops, 0.0);
+        return operands.optimizer.multiplyWithCSRSparseMatrix(operands.csrB);
+    }
 
-        SparseMatrixOptimizer sparseOptimizer = new SparseMatrixOptimizer(operands.a);
-        sparseOptimizer.multiplyWithCSCDenseMatrix(operands.b);
+    @Benchmark
+    public double[][] adaptiveMultiplication(Operands operands, BenchmarkMatrices.WorkCounter counter) {
+        counter.add(operands.flops, operands.bytes);
+        return operands.optimizer.multiply(operands.b);
+    }
 
-        long afterMemory = getMemory(runtime);
-        long usedMemory = afterMemory - beforeMemory;
+    @Benchmark
+    public CSRMatrixMultiplication.CSRMatrix csrConversion(Operands operands) {
+        return new CSRMatrixMultiplication.CSRMatrix(operands.a);
+    }
 
-        operands.memoryUsages.add(usedMemory);
+    @Benchmark
+    public CSCMatrixMultiplication cscConversion(Operands operands) {
+        return new CSCMatrixMultiplication(operands.a);
     }
 
-    private static long getMemory(Runtime runtime) {
-        return runtime.totalMemory() - runtime.freeMemory();
+    @Benchmark
+    public CSCMatrixMultiplication csrToCscConversion(Operands operands) {
+        return operands.csrA.toCSC();
     }
 }
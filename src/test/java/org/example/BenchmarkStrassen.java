@@ -0,0 +1,75 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkStrassen {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"512", "1024", "2048", "4096"})
+        private int size;
+
+        private DenseMatrix a;
+        private DenseMatrix b;
+
+        @Setup
+        public void setup() {
+            a = new DenseMatrix(BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED));
+            b = new DenseMatrix(BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Engine {
+        @Param({"64", "128", "256", "512"})
+        private int threshold;
+
+        private StrassenMatrixMultiplication strassen;
+        private DenseMatrix lastResult;
+
+        @Setup
+        public void setup() {
+            strassen = new StrassenMatrixMultiplication(threshold);
+        }
+
+        @TearDown(Level.Trial)
+        public void printError(Operands operands) {
+            DenseMatrix expected = NaiveMatrixMultiplication.multiply(operands.a, operands.b);
+            double maxError = 0.0;
+            double maxValue = 0.0;
+            for (int i = 0; i < expected.getRows(); i++) {
+                for (int j = 0; j < expected.getCols(); j++) {
+                    maxError = Math.max(maxError, Math.abs(expected.get(i, j) - lastResult.get(i, j)));
+                    maxValue = Math.max(maxValue, Math.abs(expected.get(i, j)));
+                }
+            }
+
+            System.out.println("------ Benchmark Results ------");
+            System.out.println("Max absolute error vs naive: " + maxError);
+            System.out.println("Max relative error vs naive: " + (maxValue == 0.0 ? 0.0 : maxError / maxValue));
+            System.out.println("--------------------------------");
+        }
+    }
+
+    @Benchmark
+    public DenseMatrix strassenMultiplication(Operands operands, Engine engine) {
+        engine.lastResult = engine.strassen.multiply(operands.a, operands.b);
+        return engine.lastResult;
+    }
+
+    @Benchmark
+    public DenseMatrix blockingMultiplication(Operands operands) {
+        return BlockMatrixMultiplication.multiply(operands.a, operands.b, 64);
+    }
+
+    @Benchmark
+    public DenseMatrix parallelMultiplication(Operands operands) {
+        return ParallelMatrixMultiplication.multiply(operands.a, operands.b);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkTranspose {
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"500", "1000"})
+        private int size;
+
+        @Param({"0.9", "0.99"})
+        private double zeroPercentage;
+
+        private double[][] sparse;
+        private double[][] dense;
+        private CSRMatrixMultiplication.CSRMatrix csr;
+
+        @Setup
+        public void setup() {
+            sparse = BenchmarkMatrices.sparse("uniform", size, zeroPercentage, BenchmarkMatrices.SEED);
+            dense = BenchmarkMatrices.dense(size, size, BenchmarkMatrices.SEED + 1);
+            csr = new CSRMatrixMultiplication.CSRMatrix(sparse);
+        }
+    }
+
+    private static double[][] transpose(double[][] matrix) {
+        double[][] transposed = new double[matrix[0].length][matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                transposed[j][i] = matrix[i][j];
+            }
+        }
+        return transposed;
+    }
+
+    @Benchmark
+    public CSCMatrixMultiplication cscFromDense(Operands operands) {
+        return new CSCMatrixMultiplication(operands.sparse);
+    }
+
+    @Benchmark
+    public CSCMatrixMultiplication cscFromCSR(Operands operands) {
+        return operands.csr.toCSC();
+    }
+
+    @Benchmark
+    public double[][] sparseTransposedMaterialized(Operands operands) {
+        return new CSRMatrixMultiplication.CSRMatrix(transpose(operands.sparse)).multiply(operands.dense);
+    }
+
+    @Benchmark
+    public double[][] sparseTransposedView(Operands operands) {
+        return operands.csr.transpose().multiply(operands.dense);
+    }
+
+    @Benchmark
+    public double[][] denseTransposedAMaterialized(Operands operands) {
+        return BlockMatrixMultiplication.multiply(transpose(operands.dense), operands.dense, MatrixCostModel.BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public double[][] denseTransposedA(Operands operands) {
+        return TransposedMatrixMultiplication.multiply(operands.dense, true, operands.dense, false);
+    }
+
+    @Benchmark
+    public double[][] denseTransposedB(Operands operands) {
+        return TransposedMatrixMultiplication.multiply(operands.dense, false, operands.dense, true);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BenchmarkUpdatableCSR {
+    private static final int UPDATE_BATCH = 1000;
+
+    @State(Scope.Thread)
+    public static class Operands {
+        @Param({"2000", "20000"})
+        private int size;
+
+        @Param({"16"})
+        private int rowNonZeros;
+
+        @Param({"0", "1000", "10000"})
+        private int pendingUpdates;
+
+        private CSRMatrixMultiplication.CSRMatrix csr;
+        private UpdatableCSRMatrix updatable;
+        private double[] vector;
+        private double[] result;
+        private int[] updateRows;
+        private int[] updateCols;
+        private Random random;
+
+        @Setup
+        public void setup() {
+            random = new Random(BenchmarkMatrices.SEED);
+            csr = BenchmarkMatrices.rowSparse(size, rowNonZeros, 0.0, BenchmarkMatrices.SEED);
+            verifyRoundTrip(csr, new Random(7));
+            updatable = new UpdatableCSRMatrix(csr, Runnable::run);
+            for (int u = 0; u < pendingUpdates; u++) {
+                updatable.set(random.nextInt(size), random.nextInt(size), random.nextDouble());
+            }
+            vector = BenchmarkMatrices.vector(size, BenchmarkMatrices.SEED + 1);
+            result = new double[size];
+            updateRows = new int[UPDATE_BATCH];
+            updateCols = new int[UPDATE_BATCH];
+            for (int u = 0; u < UPDATE_BATCH; u++) {
+                updateRows[u] = random.nextInt(size);
+                updateCols[u] = random.nextInt(size);
+            }
+        }
+    }
+
+    @Benchmark
+    public double[] staticSpMV(Operands operands) {
+        operands.csr.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    public double[] updatableSpMV(Operands operands) {
+        operands.updatable.multiplyInto(operands.result, operands.vector);
+        return operands.result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATE_BATCH)
+    public UpdatableCSRMatrix updates(Operands operands) {
+        for (int u = 0; u < UPDATE_BATCH; u++) {
+            operands.updatable.set(operands.updateRows[u], operands.updateCols[u], u);
+        }
+        return operands.updatable;
+    }
+
+    @Benchmark
+    public CSRMatrixMultiplication.CSRMatrix compactedSnapshot(Operands operands) {
+        return UpdatableCSRMatrix.merge(operands.csr, deltaOf(operands));
+    }
+
+    private static void verifyRoundTrip(CSRMatrixMultiplication.CSRMatrix csr, Random random) {
+        UpdatableCSRMatrix matrix = new UpdatableCSRMatrix(csr, Runnable::run);
+        int[] rowPointers = csr.getRowPointers();
+        int[] columnIndices = csr.getColumnIndices();
+        for (int trial = 0; trial < 10000; trial++) {
+            int row = random.nextInt(csr.getRows());
+            int col = rowPointers[row + 1] > rowPointers[row] && random.nextBoolean()
+                    ? columnIndices[rowPointers[row] + random.nextInt(rowPointers[row + 1] - rowPointers[row])]
+                    : random.nextInt(csr.getCols());
+            double value = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(21) - 10);
+            matrix.set(row, col, value);
+            if (matrix.get(row, col) != value) {
+                throw new IllegalStateException("set/get did not round-trip at (" + row + ", " + col + ").");
+            }
+        }
+        if (!matrix.getFingerprint().equals(MatrixFingerprint.of(matrix.toCSR()))) {
+            throw new IllegalStateException("The incremental fingerprint diverged from the compacted matrix.");
+        }
+    }
+
+    private static LongDoubleHashMap deltaOf(Operands operands) {
+        LongDoubleHashMap delta = new LongDoubleHashMap(UPDATE_BATCH);
+        for (int u = 0; u < UPDATE_BATCH; u++) {
+            delta.put(((long) operands.updateRows[u] << 32) | operands.updateCols[u], 1.0);
+        }
+        return delta;
+    }
+}